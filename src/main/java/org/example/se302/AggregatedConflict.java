@@ -0,0 +1,111 @@
+package org.example.se302;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Conflict standing for every student affected the same way by the same sessions, as produced by
+ * {@link ConflictDetection} for student collisions (with {@link ConflictDetection#setAggregateStudentCollisions(boolean)})
+ * and for gap and per-day violations. Students are kept as numbers into a table shared by all conflicts of one
+ * detection run; the description is only built when asked for, and the students themselves only by
+ * {@link #getStudents()}.
+ */
+public class AggregatedConflict extends Conflict {
+
+    private static final int DESCRIBED_STUDENTS = 5;
+
+    private final String label;
+    private final Student[] roster;
+    private final int[] studentNumbers;
+    private String formatted;
+
+    AggregatedConflict(ConflictType type, List<ExamSession> sessions, String label, Student[] roster,
+                       int[] studentNumbers) {
+        this.label = label;
+        this.roster = roster;
+        this.studentNumbers = studentNumbers;
+        setType(type);
+        setSessions(sessions);
+    }
+
+    public int getStudentCount() {
+        return studentNumbers.length;
+    }
+
+    /**
+     * The students in common, built on each call.
+     */
+    public List<Student> getStudents() {
+        List<Student> out = new ArrayList<>(studentNumbers.length);
+        for (int n : studentNumbers) out.add(roster[n]);
+        return out;
+    }
+
+    /**
+     * A description set explicitly, otherwise one built on first call: a single student is described as a
+     * per-student conflict would be, more as the count and the first few ids.
+     */
+    @Override
+    public String getDescription() {
+        String description = super.getDescription();
+        if (description != null) return description;
+        if (formatted != null) return formatted;
+
+        StringBuilder sb = new StringBuilder(label);
+        if (studentNumbers.length == 1) {
+            String sid = idOf(roster[studentNumbers[0]]);
+            if (!sid.isEmpty()) sb.append(": ").append(sid);
+        } else {
+            sb.append(": ").append(studentNumbers.length).append(" students (");
+            int shown = Math.min(DESCRIBED_STUDENTS, studentNumbers.length);
+            for (int i = 0; i < shown; i++) {
+                if (i > 0) sb.append(", ");
+                sb.append(idOf(roster[studentNumbers[i]]));
+            }
+            if (shown < studentNumbers.length) sb.append(", ...");
+            sb.append(')');
+        }
+        formatted = sb.toString();
+        return formatted;
+    }
+
+    /**
+     * Equal when type, sessions, label and students match; neither the description nor the student list is
+     * built for this.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AggregatedConflict that = (AggregatedConflict) o;
+        return getType() == that.getType()
+                && Objects.equals(getSessions(), that.getSessions())
+                && Objects.equals(label, that.label)
+                && sameStudents(that);
+    }
+
+    /**
+     * Hashes the students as {@link #getStudents()} would, so equal conflicts from different rosters agree.
+     */
+    @Override
+    public int hashCode() {
+        int students = 1;
+        for (int n : studentNumbers) students = 31 * students + Objects.hashCode(roster[n]);
+        return Objects.hash(getType(), getSessions(), label, students);
+    }
+
+    private boolean sameStudents(AggregatedConflict that) {
+        if (roster == that.roster) return Arrays.equals(studentNumbers, that.studentNumbers);
+        if (studentNumbers.length != that.studentNumbers.length) return false;
+        for (int i = 0; i < studentNumbers.length; i++) {
+            if (!Objects.equals(roster[studentNumbers[i]], that.roster[that.studentNumbers[i]])) return false;
+        }
+        return true;
+    }
+
+    private static String idOf(Student st) {
+        return st.getStudentId() == null ? "" : st.getStudentId();
+    }
+}
@@ -0,0 +1,248 @@
+package org.example.se302;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Bounded conflict-directed repair, used when plain construction cannot place a course. For a course without
+ * a feasible slot it collects, per candidate slot, the placed courses that make the slot infeasible (neighbors
+ * too close in time or over maxExamsPerDay on that day; failing that, the fewest courses whose rooms would seat it).
+ * It picks the slot with the fewest such blockers, unplaces them (most recently placed first) and retries the
+ * course; the unplaced courses are queued right behind it, in their previous order, and search again from
+ * their earliest slot.
+ *
+ * <p>Courses placed during the last courseCount / 2 steps are not unplaced again unless nothing else is
+ * possible, which keeps courses from evicting each other back and forth. The search is not complete; it stops
+ * when the node or time budget runs out.
+ */
+final class BacktrackingSearch {
+
+    private final SchedulingEngine engine;
+    private final ScheduleState state;
+    private final CandidateSlots[] slots;
+    private final int[] durations;
+    private final Constraints constraints;
+    private final int minGap;
+    private final int maxPerDay;
+    private final long nodeBudget;
+    private final long deadlineNanos;
+    private final int tabuTenure;
+    private final Random random;
+
+    // Node at which each course was last placed.
+    private final long[] placedAt;
+    private long nodes;
+    private int lastFailed = -1;
+
+    BacktrackingSearch(SchedulingEngine engine,
+                       ScheduleState state,
+                       CandidateSlots[] slots,
+                       int[] durations,
+                       Constraints constraints,
+                       long nodeBudget,
+                       long timeBudgetMillis,
+                       long seed) {
+        this.engine = engine;
+        this.state = state;
+        this.slots = slots;
+        this.durations = durations;
+        this.constraints = constraints;
+        this.minGap = Math.max(0, constraints.getMinMinutesBetweenExams());
+        this.maxPerDay = Math.max(1, constraints.getMaxExamsPerDay());
+        this.nodeBudget = nodeBudget;
+        this.deadlineNanos = System.nanoTime() + Math.max(1, timeBudgetMillis) * 1_000_000L;
+        this.placedAt = new long[state.model().courseCount()];
+        this.tabuTenure = Math.max(10, state.model().courseCount() / 2);
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Places the pending courses (in order) on top of the current state. Returns false, leaving a partial
+     * schedule, when the budget runs out or a course has no slot that unplacing others could free.
+     */
+    boolean run(List<Integer> pending) {
+        Deque<Integer> queue = new ArrayDeque<>(pending);
+
+        while (!queue.isEmpty()) {
+            SchedulingEngine.checkStopped(state.monitor());
+            if (++nodes > nodeBudget || System.nanoTime() >= deadlineNanos) return false;
+
+            int c = queue.pollFirst();
+            int slot = engine.findEarliestSlot(state, c, slots[c], durations[c], null, constraints,
+                    0, slots[c].size(), null);
+            if (slot >= 0) {
+                int start = slots[c].start(slot);
+                SchedulingEngine.RoomAllocation allocation = engine.evaluateSlot(state, c, start, durations[c], constraints);
+                // A shared room timeline may have lost the rooms to another state meanwhile; retry the course then.
+                if (allocation == null || !state.tryPlace(c, start, durations[c], allocation.rooms, allocation.seats)) {
+                    queue.addFirst(c);
+                    continue;
+                }
+                placedAt[c] = nodes;
+                state.reportProgress();
+                continue;
+            }
+
+            lastFailed = c;
+            long[] evict = leastBlockedSlot(c);
+            if (evict == null) return false;
+
+            // Most recently placed first, so the queue retries them in their original order.
+            for (int k = state.placedCount() - 1; k >= 0; k--) {
+                int p = state.placedCourse(k);
+                if (!ConflictGraph.get(evict, p)) continue;
+                state.unplace(p);
+                queue.addFirst(p);
+            }
+            queue.addFirst(c);
+        }
+        return true;
+    }
+
+    /**
+     * Course that failed last, or -1.
+     */
+    int lastFailed() {
+        return lastFailed;
+    }
+
+    /**
+     * Blockers of the course's least-blocked slot, preferring slots whose blockers were all placed outside the
+     * tabu tenure. Returns null when no slot has a placed blocker.
+     */
+    private long[] leastBlockedSlot(int c) {
+        CandidateSlots cs = slots[c];
+        int duration = durations[c];
+        int[] neighbors = state.graph().neighbors(c);
+        long[] adjacency = state.graph().adjacency(c);
+        StudentExamIndex index = state.studentIndex();
+        int turnover = state.roomTimeline().turnoverMinutes();
+
+        long[] best = null;
+        int bestCount = Integer.MAX_VALUE;
+        int ties = 0;
+        boolean bestTabu = true;
+        long[] blockers = new long[state.placedCourses().length];
+
+        // Whether some student of the course already has maxExamsPerDay exams on the cached day.
+        int cachedDay = Integer.MIN_VALUE;
+        boolean fullDay = false;
+
+        for (int i = 0; i < cs.size(); i++) {
+            int s = cs.start(i);
+            int e = s + duration;
+            int day = ScheduleState.dayOf(s);
+            if (day != cachedDay) {
+                cachedDay = day;
+                fullDay = false;
+                for (int st : state.model().enrollment(c)) {
+                    if (index.examsOnDay(st, day) >= maxPerDay) {
+                        fullDay = true;
+                        break;
+                    }
+                }
+            }
+
+            Arrays.fill(blockers, 0L);
+            int count = 0;
+            boolean tabu = false;
+            boolean pinned = false;
+            for (int p : neighbors) {
+                if (!state.isPlaced(p)) continue;
+                boolean tooClose = state.startOf(p) < e + minGap && state.endOf(p) > s - minGap;
+                boolean sameFullDay = fullDay && ScheduleState.dayOf(state.startOf(p)) == day;
+                if (tooClose || sameFullDay) {
+                    ConflictGraph.set(blockers, p);
+                    count++;
+                    tabu |= isTabu(p);
+                    pinned |= state.isPinned(p);
+                }
+            }
+            // Students are fine here, so rooms must be the reason: blame the fewest courses whose rooms would
+            // give this course enough seats.
+            if (count == 0) {
+                count = roomBlockers(c, s, e, adjacency, turnover, blockers);
+                for (int w = 0; count > 0 && w < blockers.length; w++) {
+                    for (long bits = blockers[w]; bits != 0; bits &= bits - 1) {
+                        tabu |= isTabu((w << 6) + Long.numberOfTrailingZeros(bits));
+                    }
+                }
+            }
+            // Pinned sessions never move, so a slot they block cannot be freed.
+            if (count == 0 || pinned) continue;
+
+            // Equally good slots are picked uniformly at random, so repeated failures try different ones.
+            boolean tie = bestTabu == tabu && count == bestCount;
+            if (tie) ties++;
+            if (best == null || (bestTabu && !tabu) || (bestTabu == tabu && count < bestCount)
+                    || (tie && random.nextInt(ties) == 0)) {
+                if (!tie) ties = 1;
+                best = blockers.clone();
+                bestCount = count;
+                bestTabu = tabu;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Sets in {@code blockers} the courses holding rooms in [start, end) (with turnover) whose removal leaves
+     * enough free seats for the course, and returns how many; 0 when even all movable ones would not do. One
+     * course holding a room that covers the shortfall is preferred, the least recently placed first;
+     * otherwise the courses with the most seats are taken until the shortfall is covered. Pinned courses and
+     * courses sharing students with this one are never blamed.
+     */
+    private int roomBlockers(int c, int start, int end, long[] adjacency, int turnover, long[] blockers) {
+        ProblemModel model = state.model();
+        int shortfall = model.enrollmentSize(c);
+        for (int r : state.roomTimeline().freeRooms(start, end)) shortfall -= model.roomCapacity(r);
+        if (shortfall <= 0) return 0;
+
+        int single = -1;
+        int[] holders = new int[state.placedCount()];
+        long[] seats = new long[state.placedCount()];
+        int n = 0;
+        for (int k = 0; k < state.placedCount(); k++) {
+            int p = state.placedCourse(k);
+            if (ConflictGraph.get(adjacency, p) || state.isPinned(p)) continue;
+            if (state.startOf(p) >= end + turnover || state.endOf(p) + turnover <= start) continue;
+
+            long held = 0;
+            boolean covers = false;
+            for (int r : state.roomsOf(p)) {
+                held += model.roomCapacity(r);
+                covers |= model.roomCapacity(r) >= shortfall;
+            }
+            if (covers && (single < 0 || placedAt[p] < placedAt[single])) single = p;
+            holders[n] = p;
+            seats[n++] = held;
+        }
+
+        if (single >= 0) {
+            ConflictGraph.set(blockers, single);
+            return 1;
+        }
+
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Long.compare(seats[b], seats[a]));
+        int count = 0;
+        long freed = 0;
+        for (int i = 0; i < n && freed < shortfall; i++) {
+            ConflictGraph.set(blockers, holders[order[i]]);
+            freed += seats[order[i]];
+            count++;
+        }
+        if (freed >= shortfall) return count;
+
+        Arrays.fill(blockers, 0L);
+        return 0;
+    }
+
+    private boolean isTabu(int course) {
+        return placedAt[course] > 0 && nodes - placedAt[course] <= tabuTenure;
+    }
+}
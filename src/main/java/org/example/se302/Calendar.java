@@ -3,7 +3,6 @@ package org.example.se302;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -11,6 +10,7 @@ import java.util.List;
 public class Calendar {
 
     private final List<ExamSession> examSessions = new ArrayList<>();
+    private final List<CalendarListener> listeners = new ArrayList<>();
 
     public Calendar() {
     }
@@ -22,19 +22,38 @@ public class Calendar {
     public void addExamSession(ExamSession s) {
         if (s == null) return;
         examSessions.add(s);
+        for (CalendarListener l : List.copyOf(listeners)) {
+            l.sessionAdded(this, s);
+        }
     }
 
     public void removeExamSession(ExamSession s) {
-        examSessions.remove(s);
+        int i = examSessions.indexOf(s);
+        if (i < 0) return;
+        ExamSession removed = examSessions.remove(i);
+        for (CalendarListener l : List.copyOf(listeners)) {
+            l.sessionRemoved(this, removed);
+        }
+    }
+
+    public void addListener(CalendarListener listener) {
+        if (listener == null) return;
+        listeners.add(listener);
+    }
+
+    public void removeListener(CalendarListener listener) {
+        listeners.remove(listener);
     }
 
     public List<ExamSession> getSessionsByDate(LocalDate d) {
         if (d == null) return List.of();
 
+        long dayStart = d.toEpochDay() * 1440;
         List<ExamSession> out = new ArrayList<>();
         for (ExamSession s : examSessions) {
-            LocalDateTime start = extractStartDateTime(s);
-            if (start != null && d.equals(start.toLocalDate())) {
+            if (s == null) continue;
+            long start = s.startMinute();
+            if (start >= dayStart && start < dayStart + 1440) {
                 out.add(s);
             }
         }
@@ -65,27 +84,6 @@ public class Calendar {
         return out;
     }
 
-    private LocalDateTime extractStartDateTime(ExamSession s) {
-        if (s == null) return null;
-
-        try {
-            Method m = s.getClass().getMethod("getStartDateTime");
-            Object v = m.invoke(s);
-            if (v instanceof LocalDateTime) return (LocalDateTime) v;
-        } catch (Exception ignored) {
-        }
-
-        try {
-            Field f = s.getClass().getDeclaredField("startDateTime");
-            f.setAccessible(true);
-            Object v = f.get(s);
-            if (v instanceof LocalDateTime) return (LocalDateTime) v;
-        } catch (Exception ignored) {
-        }
-
-        return null;
-    }
-
     private boolean sessionUsesRoom(ExamSession session, Classroom room) {
         Object assignments = extractRoomAssignments(session);
         if (!(assignments instanceof Iterable<?>)) return false;
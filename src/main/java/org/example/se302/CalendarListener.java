@@ -0,0 +1,14 @@
+package org.example.se302;
+
+/**
+ * Notified by a {@link Calendar} after a session was added or removed, on the thread that changed it.
+ */
+public interface CalendarListener {
+
+    void sessionAdded(Calendar calendar, ExamSession session);
+
+    /**
+     * The session passed is the instance that was taken out of the calendar.
+     */
+    void sessionRemoved(Calendar calendar, ExamSession session);
+}
@@ -0,0 +1,25 @@
+package org.example.se302;
+
+/**
+ * Cooperative cancellation flag shared between the caller and a running {@link ScheduleJob}.
+ * The engine polls it between placements and local-search steps.
+ */
+public class CancellationToken {
+
+    private volatile boolean cancelled;
+
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public String toString() {
+        return "CancellationToken{" +
+                "cancelled=" + cancelled +
+                '}';
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.se302;
+
+/**
+ * All start times a course of one duration may use, as minutes from the start of the exam period, in search
+ * order (day by day, then in the order the time ranges produce them), with the slice of slots belonging to
+ * each exam-period day.
+ */
+final class CandidateSlots {
+
+    private final int[] starts;
+    private final int[] dayFirst;
+
+    CandidateSlots(int[][] startsPerDay) {
+        int total = 0;
+        for (int[] day : startsPerDay) total += day.length;
+
+        this.starts = new int[total];
+        this.dayFirst = new int[startsPerDay.length + 1];
+        int i = 0;
+        for (int d = 0; d < startsPerDay.length; d++) {
+            dayFirst[d] = i;
+            System.arraycopy(startsPerDay[d], 0, starts, i, startsPerDay[d].length);
+            i += startsPerDay[d].length;
+        }
+        dayFirst[startsPerDay.length] = i;
+    }
+
+    int size() {
+        return starts.length;
+    }
+
+    int start(int slot) {
+        return starts[slot];
+    }
+
+    int dayCount() {
+        return dayFirst.length - 1;
+    }
+
+    /**
+     * First slot index of the day; slots of day d are [firstSlotOfDay(d), firstSlotOfDay(d + 1)).
+     * Days outside the exam period are clamped.
+     */
+    int firstSlotOfDay(int day) {
+        if (day <= 0) return 0;
+        if (day >= dayFirst.length) return starts.length;
+        return dayFirst[day];
+    }
+}
@@ -58,14 +58,15 @@ public class Conflict {
         return "Conflict{" +
                 "type=" + type +
                 ", sessions=" + count +
-                ", description='" + description + '\'' +
+                ", description='" + getDescription() + '\'' +
                 '}';
     }
 
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (!(o instanceof Conflict conflict)) return false;
+        if (o == null || getClass() != o.getClass()) return false;
+        Conflict conflict = (Conflict) o;
         return type == conflict.type
                 && Objects.equals(sessions, conflict.sessions)
                 && Objects.equals(description, conflict.description);
@@ -2,26 +2,94 @@ package org.example.se302;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.time.Duration;
-import java.time.LocalDateTime;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
 
 public class ConflictDetection {
 
+    private static final int PARALLEL_MIN_ITEMS = 512;
+    private static final int PARALLEL_CHUNK_ITEMS = 128;
+
+    private boolean parallel;
+    private boolean aggregateStudentCollisions;
+
+    public ConflictDetection() {
+        this.parallel = false;
+        this.aggregateStudentCollisions = false;
+    }
+
+    /**
+     * When enabled, sessions are read, and room and student pairs are found and checked, on the common
+     * fork/join pool. The conflicts and their order are identical to the sequential ones.
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * When enabled, two overlapping sessions with students in common give one {@link AggregatedConflict}
+     * holding all of them, instead of one conflict per student.
+     */
+    public boolean isAggregateStudentCollisions() {
+        return aggregateStudentCollisions;
+    }
+
+    public void setAggregateStudentCollisions(boolean aggregateStudentCollisions) {
+        this.aggregateStudentCollisions = aggregateStudentCollisions;
+    }
+
     public List<Conflict> detectConflicts(Calendar calendar) {
         if (calendar == null) return List.of();
 
-        List<ExamSession> sessions = new ArrayList<>(calendar.getExamSessions());
-        List<SessionInfo> info = new ArrayList<>();
+        return detect(sessionInfo(calendar));
+    }
 
-        for (ExamSession s : sessions) {
-            SessionInfo si = buildInfo(s);
-            if (si != null) info.add(si);
+    /**
+     * Also checks the soft rules of the constraints: students with exams less than minMinutesBetweenExams apart
+     * or with more than maxExamsPerDay exams starting on one day, and rooms reused before roomTurnoverMinutes
+     * have passed. Sessions that overlap are reported as collisions or room overlaps only. Gap and per-day
+     * violations always come as {@link AggregatedConflict}s. Without constraints this is
+     * {@link #detectConflicts(Calendar)}.
+     */
+    public List<Conflict> detectConflicts(Calendar calendar, Constraints constraints) {
+        if (calendar == null) return List.of();
+
+        List<SessionInfo> info = sessionInfo(calendar);
+        List<Conflict> out = detect(info);
+        if (constraints != null) {
+            out.addAll(detectStudentSpacing(info, constraints));
+            out.addAll(detectRoomTurnover(info, constraints));
         }
+        return out;
+    }
 
+    private List<SessionInfo> sessionInfo(Calendar calendar) {
+        List<ExamSession> sessions = new ArrayList<>(calendar.getExamSessions());
+        return inChunks(sessions.size(), (from, to, out) -> {
+            for (int i = from; i < to; i++) {
+                SessionInfo si = buildInfo(sessions.get(i));
+                if (si != null) out.add(si);
+            }
+        });
+    }
+
+    private List<Conflict> detect(List<SessionInfo> info) {
         List<Conflict> out = new ArrayList<>();
         out.addAll(detectCapacityConflicts(info));
         out.addAll(detectRoomOverlaps(info));
@@ -34,109 +102,461 @@ public class ConflictDetection {
     }
 
     private List<Conflict> detectCapacityConflicts(List<SessionInfo> sessions) {
-        List<Conflict> out = new ArrayList<>();
+        return inChunks(sessions.size(), (from, to, out) -> {
+            for (int i = from; i < to; i++) {
+                capacityConflicts(sessions.get(i), out);
+            }
+        });
+    }
+
+    private void capacityConflicts(SessionInfo si, List<Conflict> out) {
+        for (RoomAssign ra : si.roomAssignments) {
+            if (ra.room == null) continue;
+
+            Integer cap = classroomCapacityOf(ra.room);
+            if (cap == null) continue;
+
+            int assigned = ra.students.size();
+            if (assigned > cap) {
+                out.add(capacityConflict(si.session, classroomIdOf(ra.room), assigned, cap));
+            }
+        }
+    }
 
-        for (SessionInfo si : sessions) {
-            for (RoomAssign ra : si.roomAssignments) {
-                if (ra.room == null) continue;
-
-                Integer cap = classroomCapacityOf(ra.room);
-                if (cap == null) continue;
-
-                int assigned = ra.students.size();
-                if (assigned > cap) {
-                    String roomId = classroomIdOf(ra.room);
-                    String desc = "Room capacity exceeded"
-                            + (roomId.isEmpty() ? "" : (": " + roomId))
-                            + " (assigned=" + assigned + ", capacity=" + cap + ")";
-
-                    Conflict c = new Conflict();
-                    c.setType(ConflictType.ROOM_CAPACITY);
-                    c.addSession(si.session);
-                    c.setDescription(desc);
-                    out.add(c);
+    private List<Conflict> detectRoomOverlaps(List<SessionInfo> sessions) {
+        long[] pairs = overlappingPairs(sessions, si -> si.rooms);
+        return inChunks(pairs.length, (from, to, out) -> {
+            for (int p = from; p < to; p++) {
+                roomOverlaps(sessions.get((int) (pairs[p] >>> 32)), sessions.get((int) pairs[p]), out);
+            }
+        });
+    }
+
+    private void roomOverlaps(SessionInfo a, SessionInfo b, List<Conflict> out) {
+        Set<Classroom> commonRooms = new HashSet<>(a.rooms);
+        commonRooms.retainAll(b.rooms);
+
+        for (Classroom r : commonRooms) {
+            out.add(roomOverlap(a.session, b.session, classroomIdOf(r)));
+        }
+    }
+
+    private List<Conflict> detectStudentCollisions(List<SessionInfo> sessions) {
+        long[] pairs = overlappingPairs(sessions, si -> si.allStudents);
+        if (aggregateStudentCollisions) {
+            return aggregatedStudentCollisions(sessions, pairs);
+        }
+        return inChunks(pairs.length, (from, to, out) -> {
+            for (int p = from; p < to; p++) {
+                studentCollisions(sessions.get((int) (pairs[p] >>> 32)), sessions.get((int) pairs[p]), out);
+            }
+        });
+    }
+
+    private void studentCollisions(SessionInfo a, SessionInfo b, List<Conflict> out) {
+        Set<Student> common = new HashSet<>(a.allStudents);
+        common.retainAll(b.allStudents);
+
+        for (Student st : common) {
+            out.add(studentCollision(a.session, b.session, studentIdOf(st)));
+        }
+    }
+
+    /**
+     * Numbers the students in order of first appearance and intersects each pair's sorted numbers, so a pair
+     * costs one int array however many students it shares.
+     */
+    private List<Conflict> aggregatedStudentCollisions(List<SessionInfo> sessions, long[] pairs) {
+        List<Student> roster = new ArrayList<>();
+        int[][] students = numberStudents(sessions, roster);
+        Student[] table = roster.toArray(new Student[0]);
+
+        return inChunks(pairs.length, (from, to, out) -> {
+            for (int p = from; p < to; p++) {
+                int i = (int) (pairs[p] >>> 32);
+                int j = (int) pairs[p];
+                int[] common = intersect(students[i], students[j]);
+                if (common.length == 0) continue;
+                out.add(new AggregatedConflict(ConflictType.STUDENT_COLLISION,
+                        List.of(sessions.get(i).session, sessions.get(j).session), "Student collision", table, common));
+            }
+        });
+    }
+
+    /**
+     * Sorted student numbers of every session; students are numbered in order of first appearance and added
+     * to the roster.
+     */
+    private static int[][] numberStudents(List<SessionInfo> sessions, List<Student> roster) {
+        Map<Student, Integer> numbers = new HashMap<>();
+        int[][] students = new int[sessions.size()][];
+        for (int i = 0; i < students.length; i++) {
+            int[] ids = new int[sessions.get(i).allStudents.size()];
+            int k = 0;
+            for (Student st : sessions.get(i).allStudents) {
+                Integer id = numbers.get(st);
+                if (id == null) {
+                    id = roster.size();
+                    numbers.put(st, id);
+                    roster.add(st);
+                }
+                ids[k++] = id;
+            }
+            Arrays.sort(ids);
+            students[i] = ids;
+        }
+        return students;
+    }
+
+    /**
+     * Gap and per-day checks in one pass over each student's sessions sorted by start. Students affected by the
+     * same session pair, or by the same sessions on one day, share one conflict.
+     */
+    private List<Conflict> detectStudentSpacing(List<SessionInfo> sessions, Constraints constraints) {
+        int minGap = Math.max(0, constraints.getMinMinutesBetweenExams());
+        int maxPerDay = Math.max(1, constraints.getMaxExamsPerDay());
+
+        List<Student> roster = new ArrayList<>();
+        int[][] students = numberStudents(sessions, roster);
+        Student[] table = roster.toArray(new Student[0]);
+
+        List<List<Integer>> byStudent = new ArrayList<>(table.length);
+        for (int s = 0; s < table.length; s++) byStudent.add(new ArrayList<>());
+        for (int i = 0; i < students.length; i++) {
+            for (int s : students[i]) byStudent.get(s).add(i);
+        }
+
+        Map<Long, List<Integer>> tooClose = new TreeMap<>();
+        Map<List<Integer>, List<Integer>> overfull = new LinkedHashMap<>();
+        for (int s = 0; s < table.length; s++) {
+            List<Integer> mine = byStudent.get(s);
+            mine.sort(Comparator.comparingLong(i -> sessions.get(i).start));
+
+            long longest = 0;
+            for (int i : mine) longest = Math.max(longest, sessions.get(i).end - sessions.get(i).start);
+
+            int dayFrom = 0;
+            for (int k = 0; k < mine.size(); k++) {
+                SessionInfo b = sessions.get(mine.get(k));
+
+                // Earlier starts further back than the gap plus the longest exam cannot end close enough.
+                for (int j = k - 1; j >= 0 && minGap > 0; j--) {
+                    SessionInfo a = sessions.get(mine.get(j));
+                    if (b.start - a.start >= minGap + longest) break;
+                    if (overlaps(a, b) || !tooClose(a, b, minGap)) continue;
+                    tooClose.computeIfAbsent(pairKey(mine.get(j), mine.get(k)), x -> new ArrayList<>()).add(s);
+                }
+
+                if (k + 1 < mine.size() && dayOf(sessions.get(mine.get(k + 1))) == dayOf(b)) continue;
+                if (k + 1 - dayFrom > maxPerDay) {
+                    overfull.computeIfAbsent(List.copyOf(mine.subList(dayFrom, k + 1)), x -> new ArrayList<>()).add(s);
                 }
+                dayFrom = k + 1;
             }
         }
 
+        List<Conflict> out = new ArrayList<>();
+        for (Map.Entry<Long, List<Integer>> e : tooClose.entrySet()) {
+            SessionInfo a = sessions.get((int) (e.getKey() >>> 32));
+            SessionInfo b = sessions.get((int) (long) e.getKey());
+            out.add(new AggregatedConflict(ConflictType.STUDENT_GAP, List.of(a.session, b.session),
+                    "Exams less than " + minGap + " minutes apart", table, toArray(e.getValue())));
+        }
+        for (Map.Entry<List<Integer>, List<Integer>> e : overfull.entrySet()) {
+            List<ExamSession> daySessions = new ArrayList<>();
+            for (int i : e.getKey()) daySessions.add(sessions.get(i).session);
+            LocalDate day = LocalDate.ofEpochDay(dayOf(sessions.get(e.getKey().get(0))));
+            out.add(new AggregatedConflict(ConflictType.STUDENT_DAILY_LIMIT, daySessions,
+                    "More than " + maxPerDay + " exams on " + day, table, toArray(e.getValue())));
+        }
         return out;
     }
 
-    private List<Conflict> detectRoomOverlaps(List<SessionInfo> sessions) {
-        List<Conflict> out = new ArrayList<>();
+    /**
+     * Per room, sessions sorted by start; a pair that does not overlap but leaves less than the turnover
+     * between them is one conflict per shared room, as with room overlaps.
+     */
+    private List<Conflict> detectRoomTurnover(List<SessionInfo> sessions, Constraints constraints) {
+        int turnover = Math.max(0, constraints.getRoomTurnoverMinutes());
+        if (turnover == 0) return List.of();
 
+        Map<Classroom, List<Integer>> byRoom = new LinkedHashMap<>();
         for (int i = 0; i < sessions.size(); i++) {
-            for (int j = i + 1; j < sessions.size(); j++) {
-                SessionInfo a = sessions.get(i);
-                SessionInfo b = sessions.get(j);
-
-                if (!overlaps(a, b)) continue;
-
-                Set<Classroom> commonRooms = new HashSet<>(a.rooms);
-                commonRooms.retainAll(b.rooms);
-                if (commonRooms.isEmpty()) continue;
-
-                for (Classroom r : commonRooms) {
-                    String roomId = classroomIdOf(r);
-                    String desc = "Room overlap" + (roomId.isEmpty() ? "" : (": " + roomId));
-
-                    Conflict c = new Conflict();
-                    c.setType(ConflictType.ROOM_OVERLAP);
-                    c.addSession(a.session);
-                    c.addSession(b.session);
-                    c.setDescription(desc);
-                    out.add(c);
+            for (Classroom r : sessions.get(i).rooms) {
+                byRoom.computeIfAbsent(r, x -> new ArrayList<>()).add(i);
+            }
+        }
+
+        Map<Long, List<Classroom>> tooSoon = new TreeMap<>();
+        for (Map.Entry<Classroom, List<Integer>> e : byRoom.entrySet()) {
+            List<Integer> used = e.getValue();
+            used.sort(Comparator.comparingLong(i -> sessions.get(i).start));
+
+            long longest = 0;
+            for (int i : used) longest = Math.max(longest, sessions.get(i).end - sessions.get(i).start);
+
+            for (int k = 0; k < used.size(); k++) {
+                SessionInfo b = sessions.get(used.get(k));
+                for (int j = k - 1; j >= 0; j--) {
+                    SessionInfo a = sessions.get(used.get(j));
+                    if (b.start - a.start >= turnover + longest) break;
+                    if (overlaps(a, b) || !tooClose(a, b, turnover)) continue;
+                    tooSoon.computeIfAbsent(pairKey(used.get(j), used.get(k)), x -> new ArrayList<>()).add(e.getKey());
                 }
             }
         }
 
+        List<Conflict> out = new ArrayList<>();
+        for (Map.Entry<Long, List<Classroom>> e : tooSoon.entrySet()) {
+            SessionInfo a = sessions.get((int) (e.getKey() >>> 32));
+            SessionInfo b = sessions.get((int) (long) e.getKey());
+            long gap = Math.max(a.start, b.start) - Math.min(a.end, b.end);
+            for (Classroom r : e.getValue()) {
+                out.add(roomTurnover(a.session, b.session, classroomIdOf(r), gap, turnover));
+            }
+        }
         return out;
     }
 
-    private List<Conflict> detectStudentCollisions(List<SessionInfo> sessions) {
-        List<Conflict> out = new ArrayList<>();
+    /**
+     * True when fewer than the given minutes separate the two sessions.
+     */
+    private static boolean tooClose(SessionInfo a, SessionInfo b, int minutes) {
+        return a.start < b.end + minutes && b.start < a.end + minutes;
+    }
 
-        for (int i = 0; i < sessions.size(); i++) {
-            for (int j = i + 1; j < sessions.size(); j++) {
-                SessionInfo a = sessions.get(i);
-                SessionInfo b = sessions.get(j);
-
-                if (!overlaps(a, b)) continue;
-
-                Set<Student> common = new HashSet<>(a.allStudents);
-                common.retainAll(b.allStudents);
-                if (common.isEmpty()) continue;
-
-                for (Student st : common) {
-                    String sid = studentIdOf(st);
-                    String desc = "Student collision" + (sid.isEmpty() ? "" : (": " + sid));
-
-                    Conflict c = new Conflict();
-                    c.setType(ConflictType.STUDENT_COLLISION);
-                    c.addSession(a.session);
-                    c.addSession(b.session);
-                    c.setDescription(desc);
-                    out.add(c);
+    private static long dayOf(SessionInfo si) {
+        return Math.floorDiv(si.start, 1440);
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int n = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] < b[j]) i++;
+            else if (a[i] > b[j]) j++;
+            else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    static Conflict capacityConflict(ExamSession session, String roomId, int assigned, int capacity) {
+        Conflict c = new Conflict();
+        c.setType(ConflictType.ROOM_CAPACITY);
+        c.addSession(session);
+        c.setDescription("Room capacity exceeded"
+                + (roomId.isEmpty() ? "" : (": " + roomId))
+                + " (assigned=" + assigned + ", capacity=" + capacity + ")");
+        return c;
+    }
+
+    static Conflict roomOverlap(ExamSession a, ExamSession b, String roomId) {
+        Conflict c = new Conflict();
+        c.setType(ConflictType.ROOM_OVERLAP);
+        c.addSession(a);
+        c.addSession(b);
+        c.setDescription("Room overlap" + (roomId.isEmpty() ? "" : (": " + roomId)));
+        return c;
+    }
+
+    static Conflict roomTurnover(ExamSession a, ExamSession b, String roomId, long gapMinutes, int turnoverMinutes) {
+        Conflict c = new Conflict();
+        c.setType(ConflictType.ROOM_TURNOVER);
+        c.addSession(a);
+        c.addSession(b);
+        c.setDescription("Room turnover too short"
+                + (roomId.isEmpty() ? "" : (": " + roomId))
+                + " (gap=" + gapMinutes + ", turnover=" + turnoverMinutes + ")");
+        return c;
+    }
+
+    static Conflict studentCollision(ExamSession a, ExamSession b, String studentId) {
+        Conflict c = new Conflict();
+        c.setType(ConflictType.STUDENT_COLLISION);
+        c.addSession(a);
+        c.addSession(b);
+        c.setDescription("Student collision" + (studentId.isEmpty() ? "" : (": " + studentId)));
+        return c;
+    }
+
+    /**
+     * Index pairs (i &lt;&lt; 32 | j, i &lt; j) of sessions that overlap in time and share at least one key, sorted,
+     * so callers visit them in the same order as a nested loop over all pairs would.
+     *
+     * <p>Sessions are sorted by start once and swept in that order while, per key, the sessions still running are
+     * kept; a starting session is only compared with those. In parallel mode the start order is cut into
+     * consecutive blocks swept by separate tasks, each first loading the earlier sessions still running when its
+     * block begins. Sessions whose end is not after their start cannot be swept and are compared with every
+     * session sharing one of their keys instead.
+     */
+    private <K> long[] overlappingPairs(List<SessionInfo> sessions, Function<SessionInfo, Set<K>> keys) {
+        int n = sessions.size();
+        PairBuffer found = new PairBuffer();
+        List<Integer> sweepable = new ArrayList<>();
+
+        Map<K, List<Integer>> unsweepable = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            SessionInfo si = sessions.get(i);
+            if (si.start < si.end) {
+                sweepable.add(i);
+                continue;
+            }
+            for (K k : keys.apply(si)) {
+                unsweepable.computeIfAbsent(k, x -> new ArrayList<>()).add(i);
+            }
+        }
+        if (!unsweepable.isEmpty()) {
+            for (int j = 0; j < n; j++) {
+                for (K k : keys.apply(sessions.get(j))) {
+                    List<Integer> others = unsweepable.get(k);
+                    if (others == null) continue;
+                    for (int i : others) {
+                        if (i != j && overlaps(sessions.get(i), sessions.get(j))) found.add(i, j);
+                    }
                 }
             }
         }
 
+        sweepable.sort(Comparator.comparingLong(i -> sessions.get(i).start));
+        int[] byStart = sweepable.stream().mapToInt(Integer::intValue).toArray();
+
+        int blocks = 1;
+        if (parallel && byStart.length >= PARALLEL_MIN_ITEMS) {
+            blocks = Math.min(4 * ForkJoinPool.getCommonPoolParallelism(), byStart.length / PARALLEL_CHUNK_ITEMS);
+        }
+        if (blocks <= 1) {
+            found.addAll(sweep(sessions, keys, byStart, 0, byStart.length));
+            return distinctSorted(found.toArray());
+        }
+
+        long[][] swept = new long[blocks][];
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (int k = 0; k < blocks; k++) {
+            int block = k;
+            int from = (int) ((long) byStart.length * k / blocks);
+            int to = (int) ((long) byStart.length * (k + 1) / blocks);
+            tasks.add(ForkJoinTask.adapt(() -> {
+                swept[block] = sweep(sessions, keys, byStart, from, to);
+            }));
+        }
+        ForkJoinTask.invokeAll(tasks);
+
+        for (long[] pairs : swept) found.addAll(pairs);
+        return distinctSorted(found.toArray());
+    }
+
+    /**
+     * Pairs whose later-starting session lies in byStart[from, to), unsorted and possibly repeated.
+     */
+    private <K> long[] sweep(List<SessionInfo> sessions,
+                             Function<SessionInfo, Set<K>> keys,
+                             int[] byStart,
+                             int from,
+                             int to) {
+        PairBuffer pairs = new PairBuffer();
+        if (from >= to) return pairs.toArray();
+        Map<K, List<Integer>> running = new HashMap<>();
+
+        // Earlier sessions still running when the block begins, as the sweep would have them at that point.
+        List<Integer> byEnd = new ArrayList<>();
+        long blockStart = sessions.get(byStart[from]).start;
+        for (int p = 0; p < from; p++) {
+            int i = byStart[p];
+            if (sessions.get(i).end <= blockStart) continue;
+            byEnd.add(i);
+            for (K k : keys.apply(sessions.get(i))) {
+                running.computeIfAbsent(k, x -> new ArrayList<>()).add(i);
+            }
+        }
+        for (int p = from; p < to; p++) byEnd.add(byStart[p]);
+        byEnd.sort(Comparator.comparingLong(i -> sessions.get(i).end));
+
+        int ended = 0;
+        for (int p = from; p < to; p++) {
+            int i = byStart[p];
+            SessionInfo si = sessions.get(i);
+
+            // Everything that ended by now started earlier, so it is running and can be retired.
+            while (ended < byEnd.size() && sessions.get(byEnd.get(ended)).end <= si.start) {
+                Integer done = byEnd.get(ended++);
+                for (K k : keys.apply(sessions.get(done))) {
+                    List<Integer> others = running.get(k);
+                    if (others == null) continue;
+                    others.remove(done);
+                    if (others.isEmpty()) running.remove(k);
+                }
+            }
+
+            for (K k : keys.apply(si)) {
+                List<Integer> others = running.computeIfAbsent(k, x -> new ArrayList<>());
+                for (int j : others) pairs.add(i, j);
+                others.add(i);
+            }
+        }
+        return pairs.toArray();
+    }
+
+    /**
+     * Sorts the pairs and drops repeats; the same pair is found once per shared key.
+     */
+    private static long[] distinctSorted(long[] pairs) {
+        Arrays.sort(pairs);
+        int distinct = 0;
+        for (int p = 0; p < pairs.length; p++) {
+            if (distinct == 0 || pairs[distinct - 1] != pairs[p]) pairs[distinct++] = pairs[p];
+        }
+        return Arrays.copyOf(pairs, distinct);
+    }
+
+    private static long pairKey(int i, int j) {
+        return ((long) Math.min(i, j) << 32) | Math.max(i, j);
+    }
+
+    /**
+     * Runs the task over [0, n) and concatenates what it collects. In parallel mode large ranges are cut into
+     * chunks run on the common fork/join pool; the chunk results are joined in range order, so the output is the
+     * same as one sequential run.
+     */
+    private <T> List<T> inChunks(int n, RangeTask<T> task) {
+        List<T> out = new ArrayList<>();
+        if (!parallel || n < PARALLEL_MIN_ITEMS) {
+            task.run(0, n, out);
+            return out;
+        }
+
+        int chunk = Math.max(PARALLEL_CHUNK_ITEMS, n / (4 * ForkJoinPool.getCommonPoolParallelism()));
+        int chunks = (n + chunk - 1) / chunk;
+        List<List<T>> parts = new ArrayList<>();
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (int k = 0; k < chunks; k++) {
+            int from = k * chunk;
+            int to = Math.min(n, from + chunk);
+            List<T> part = new ArrayList<>();
+            parts.add(part);
+            tasks.add(ForkJoinTask.adapt(() -> task.run(from, to, part)));
+        }
+        ForkJoinTask.invokeAll(tasks);
+
+        for (List<T> part : parts) out.addAll(part);
         return out;
     }
 
     private boolean overlaps(SessionInfo a, SessionInfo b) {
-        if (a.start == null || a.end == null || b.start == null || b.end == null) return false;
-        return a.start.isBefore(b.end) && b.start.isBefore(a.end);
+        return a.start < b.end && b.start < a.end;
     }
 
     private SessionInfo buildInfo(ExamSession s) {
         if (s == null) return null;
 
-        LocalDateTime start = startDateTimeOf(s);
-        Integer durMin = durationMinutesOf(s);
-        if (start == null || durMin == null) return null;
-
-        LocalDateTime end = start.plusMinutes(durMin);
+        if (s.startMinute() == ExamSession.NO_START) return null;
 
         List<RoomAssign> ras = extractRoomAssignments(s);
         Set<Classroom> rooms = new HashSet<>();
@@ -155,7 +575,7 @@ public class ConflictDetection {
             if (!ss.isEmpty()) students = ss;
         }
 
-        return new SessionInfo(s, start, end, ras, rooms, students);
+        return new SessionInfo(s, s.startMinute(), s.endMinute(), ras, rooms, students);
     }
 
     private List<RoomAssign> extractRoomAssignments(ExamSession session) {
@@ -187,32 +607,6 @@ public class ConflictDetection {
         return out;
     }
 
-    private LocalDateTime startDateTimeOf(ExamSession s) {
-        Object v = tryInvokeNoArg(s, "getStartDateTime");
-        if (v == null) v = tryGetField(s, "startDateTime");
-        if (v instanceof LocalDateTime) return (LocalDateTime) v;
-        return null;
-    }
-
-    private Integer durationMinutesOf(ExamSession s) {
-        Object v = tryInvokeNoArg(s, "getDurationMinutes");
-        if (v == null) v = tryGetField(s, "durationMinutes");
-        if (v instanceof Number) return ((Number) v).intValue();
-
-        Object d = tryInvokeNoArg(s, "getDuration");
-        if (d == null) d = tryGetField(s, "duration");
-        if (d instanceof Duration) return (int) ((Duration) d).toMinutes();
-
-        if (v != null) {
-            try { return Integer.parseInt(String.valueOf(v)); } catch (Exception ignored) {}
-        }
-        if (d != null) {
-            try { return Integer.parseInt(String.valueOf(d)); } catch (Exception ignored) {}
-        }
-
-        return null;
-    }
-
     private String studentIdOf(Student st) {
         if (st == null) return "";
         Object v = tryInvokeNoArg(st, "getStudentId");
@@ -263,15 +657,16 @@ public class ConflictDetection {
 
     private static final class SessionInfo {
         final ExamSession session;
-        final LocalDateTime start;
-        final LocalDateTime end;
+        // Epoch minutes, so overlap tests are plain long comparisons.
+        final long start;
+        final long end;
         final List<RoomAssign> roomAssignments;
         final Set<Classroom> rooms;
         final Set<Student> allStudents;
 
         SessionInfo(ExamSession session,
-                    LocalDateTime start,
-                    LocalDateTime end,
+                    long start,
+                    long end,
                     List<RoomAssign> roomAssignments,
                     Set<Classroom> rooms,
                     Set<Student> allStudents) {
@@ -284,6 +679,35 @@ public class ConflictDetection {
         }
     }
 
+    /**
+     * Growable list of pair keys.
+     */
+    private static final class PairBuffer {
+        private long[] pairs = new long[16];
+        private int count;
+
+        void add(int i, int j) {
+            if (count == pairs.length) pairs = Arrays.copyOf(pairs, count * 2);
+            pairs[count++] = pairKey(i, j);
+        }
+
+        void addAll(long[] more) {
+            if (count + more.length > pairs.length) {
+                pairs = Arrays.copyOf(pairs, Math.max(pairs.length * 2, count + more.length));
+            }
+            System.arraycopy(more, 0, pairs, count, more.length);
+            count += more.length;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(pairs, count);
+        }
+    }
+
+    private interface RangeTask<T> {
+        void run(int from, int to, List<T> out);
+    }
+
     private static final class RoomAssign {
         final Classroom room;
         final Set<Student> students;
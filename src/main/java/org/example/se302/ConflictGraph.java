@@ -0,0 +1,142 @@
+package org.example.se302;
+
+import java.util.Arrays;
+
+/**
+ * Course co-enrollment graph: two courses are adjacent when they share at least one student.
+ * Adjacency is kept both as bitsets (for word-wise intersection with placement sets) and as sorted
+ * neighbor lists with shared-student counts.
+ */
+final class ConflictGraph {
+
+    private final int courseCount;
+    private final long[][] adjacency;
+    private final int[][] neighborIds;
+    private final int[][] sharedCounts;
+
+    private ConflictGraph(int courseCount, long[][] adjacency, int[][] neighborIds, int[][] sharedCounts) {
+        this.courseCount = courseCount;
+        this.adjacency = adjacency;
+        this.neighborIds = neighborIds;
+        this.sharedCounts = sharedCounts;
+    }
+
+    static ConflictGraph build(ProblemModel model) {
+        int n = model.courseCount();
+        int words = words(n);
+
+        long[][] adjacency = new long[n][words];
+        int[][] neighborIds = new int[n][];
+        int[][] sharedCounts = new int[n][];
+
+        int[] count = new int[n];
+        int[] touched = new int[n];
+
+        for (int c = 0; c < n; c++) {
+            int touchedCount = 0;
+            for (int s : model.enrollment(c)) {
+                for (int d : model.coursesOf(s)) {
+                    if (d == c) continue;
+                    if (count[d]++ == 0) touched[touchedCount++] = d;
+                }
+            }
+
+            Arrays.sort(touched, 0, touchedCount);
+            int[] ids = Arrays.copyOf(touched, touchedCount);
+            int[] shared = new int[touchedCount];
+            for (int i = 0; i < touchedCount; i++) {
+                int d = ids[i];
+                shared[i] = count[d];
+                count[d] = 0;
+                set(adjacency[c], d);
+            }
+            neighborIds[c] = ids;
+            sharedCounts[c] = shared;
+        }
+
+        return new ConflictGraph(n, adjacency, neighborIds, sharedCounts);
+    }
+
+    int courseCount() {
+        return courseCount;
+    }
+
+    /**
+     * Adjacency bitset of the course (bit d set when d shares a student). Must not be modified.
+     */
+    long[] adjacency(int course) {
+        return adjacency[course];
+    }
+
+    /**
+     * Sorted ids of adjacent courses. Must not be modified.
+     */
+    int[] neighbors(int course) {
+        return neighborIds[course];
+    }
+
+    int degree(int course) {
+        return neighborIds[course].length;
+    }
+
+    boolean adjacent(int a, int b) {
+        return (adjacency[a][b >>> 6] & (1L << b)) != 0;
+    }
+
+    int sharedStudents(int a, int b) {
+        int i = Arrays.binarySearch(neighborIds[a], b);
+        return i < 0 ? 0 : sharedCounts[a][i];
+    }
+
+    /**
+     * Connected components of the subgraph induced by the given courses, each sorted by id, ordered by their
+     * smallest course id.
+     */
+    int[][] components(int[] courses) {
+        long[] member = new long[words(courseCount)];
+        for (int c : courses) set(member, c);
+        int[] sorted = courses.clone();
+        Arrays.sort(sorted);
+
+        long[] seen = new long[member.length];
+        int[] queue = new int[sorted.length];
+        int[][] out = new int[sorted.length][];
+        int n = 0;
+        for (int root : sorted) {
+            if (get(seen, root)) continue;
+            set(seen, root);
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = root;
+            while (head < tail) {
+                for (int d : neighborIds[queue[head++]]) {
+                    if (!get(member, d) || get(seen, d)) continue;
+                    set(seen, d);
+                    queue[tail++] = d;
+                }
+            }
+            int[] component = Arrays.copyOf(queue, tail);
+            Arrays.sort(component);
+            out[n++] = component;
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    // --- bitset helpers shared by the engine's placement sets ---
+
+    static int words(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    static void set(long[] bits, int i) {
+        bits[i >>> 6] |= 1L << i;
+    }
+
+    static void clear(long[] bits, int i) {
+        bits[i >>> 6] &= ~(1L << i);
+    }
+
+    static boolean get(long[] bits, int i) {
+        return (bits[i >>> 6] & (1L << i)) != 0;
+    }
+}
@@ -3,5 +3,8 @@ package org.example.se302;
 public enum ConflictType {
     ROOM_CAPACITY,
     STUDENT_COLLISION,
-    ROOM_OVERLAP
+    ROOM_OVERLAP,
+    STUDENT_GAP,
+    STUDENT_DAILY_LIMIT,
+    ROOM_TURNOVER
 }
@@ -30,6 +30,9 @@ public class Constraints {
     private int durationRoundingMinutes;
     private int minExamDurationMinutes;
 
+    // Compiled day/time-range/step settings; cleared by the setters that feed it.
+    private volatile SlotLattice slotLattice;
+
     public Constraints() {
         this.minMinutesBetweenExams = 60;
         this.maxExamsPerDay = 2;
@@ -71,6 +74,30 @@ public class Constraints {
         this.minExamDurationMinutes = 120;
     }
 
+    public Constraints(Constraints other) {
+        this.minMinutesBetweenExams = other.minMinutesBetweenExams;
+        this.maxExamsPerDay = other.maxExamsPerDay;
+        this.allowedDays = (other.allowedDays == null) ? new ArrayList<>() : new ArrayList<>(other.allowedDays);
+        // TimeRange is mutable, so the copy gets its own ranges.
+        this.allowedTimeRanges = new ArrayList<>();
+        if (other.allowedTimeRanges != null) {
+            for (TimeRange r : other.allowedTimeRanges) {
+                this.allowedTimeRanges.add(r == null ? null : new TimeRange(r.getStart(), r.getEnd()));
+            }
+        }
+        this.roomSpecificRules = (other.roomSpecificRules == null) ? new HashMap<>() : new HashMap<>(other.roomSpecificRules);
+        this.examWeekStartDate = other.examWeekStartDate;
+        this.examWeekEndDate = other.examWeekEndDate;
+        this.roomTurnoverMinutes = other.roomTurnoverMinutes;
+        this.slotStepMinutes = other.slotStepMinutes;
+        this.baseExamDurationMinutes = other.baseExamDurationMinutes;
+        this.creditDurationCoefficientMinutes = other.creditDurationCoefficientMinutes;
+        this.durationRoundingMinutes = other.durationRoundingMinutes;
+        this.minExamDurationMinutes = other.minExamDurationMinutes;
+        // The lattice is immutable and compiled from the values just copied.
+        this.slotLattice = other.slotLattice;
+    }
+
     public int getMinMinutesBetweenExams() {
         return minMinutesBetweenExams;
     }
@@ -99,6 +126,7 @@ public class Constraints {
 
     public void setAllowedDays(List<DayOfWeek> allowedDays) {
         this.allowedDays = (allowedDays == null) ? new ArrayList<>() : new ArrayList<>(allowedDays);
+        this.slotLattice = null;
     }
 
     public List<TimeRange> getAllowedTimeRanges() {
@@ -107,6 +135,11 @@ public class Constraints {
 
     public void setAllowedTimeRanges(List<TimeRange> allowedTimeRanges) {
         this.allowedTimeRanges = (allowedTimeRanges == null) ? new ArrayList<>() : new ArrayList<>(allowedTimeRanges);
+        this.slotLattice = null;
+    }
+
+    public Map<String, String> getRoomSpecificRules() {
+        return roomSpecificRules == null ? Map.of() : Collections.unmodifiableMap(roomSpecificRules);
     }
 
     public void setRoomSpecificRules(Map<String, String> roomSpecificRules) {
@@ -164,6 +197,20 @@ public class Constraints {
             throw new IllegalArgumentException("slotStepMinutes must be at least 1");
         }
         this.slotStepMinutes = slotStepMinutes;
+        this.slotLattice = null;
+    }
+
+    /**
+     * Slot lattice for the current allowed days, time ranges and step, compiled on first use.
+     * TimeRange objects are read when compiling, so replace the list rather than mutating a range in it.
+     */
+    SlotLattice slotLattice() {
+        SlotLattice lattice = slotLattice;
+        if (lattice == null) {
+            lattice = SlotLattice.compile(allowedDays, allowedTimeRanges, slotStepMinutes);
+            slotLattice = lattice;
+        }
+        return lattice;
     }
 
     public int getBaseExamDurationMinutes() {
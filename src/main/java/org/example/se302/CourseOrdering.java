@@ -0,0 +1,12 @@
+package org.example.se302;
+
+public enum CourseOrdering {
+    /** Largest enrollment first. */
+    ENROLLMENT,
+    /** Most co-enrolled (conflicting) courses first. */
+    CONFLICT_DEGREE,
+    /** Longest exam first. */
+    DURATION,
+    /** Seeded shuffle, see {@link SchedulingOptions#getRandomSeed()}. */
+    RANDOM
+}
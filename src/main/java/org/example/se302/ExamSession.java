@@ -15,15 +15,22 @@ public class ExamSession {
     private int durationMinutes;
     private List<ExamRoomAssignment> roomAssignments;
 
+    // Start and end as minutes since 1970-01-01T00:00 (no time zone), kept in sync with startDateTime and
+    // durationMinutes.
+    private long startMinute = NO_START;
+    private long endMinute = NO_START;
+
+    static final long NO_START = Long.MIN_VALUE;
+
     public ExamSession() {
         this.roomAssignments = new ArrayList<>();
     }
 
     public ExamSession(Course course, LocalDateTime startDateTime, int durationMinutes) {
         this.course = course;
-        this.startDateTime = startDateTime;
         this.durationMinutes = durationMinutes;
         this.roomAssignments = new ArrayList<>();
+        setStartDateTime(startDateTime);
     }
 
     public Course getCourse() {
@@ -40,6 +47,23 @@ public class ExamSession {
 
     public void setStartDateTime(LocalDateTime startDateTime) {
         this.startDateTime = startDateTime;
+        this.startMinute = (startDateTime == null) ? NO_START : epochMinute(startDateTime);
+        this.endMinute = (startDateTime == null) ? NO_START : startMinute + durationMinutes;
+    }
+
+    /**
+     * Start in minutes since the epoch, or {@link #NO_START} when no start is set.
+     */
+    long startMinute() {
+        return startMinute;
+    }
+
+    long endMinute() {
+        return endMinute;
+    }
+
+    static long epochMinute(LocalDateTime t) {
+        return t.toLocalDate().toEpochDay() * 1440 + t.getHour() * 60 + t.getMinute();
     }
 
     public int getDurationMinutes() {
@@ -48,6 +72,7 @@ public class ExamSession {
 
     public void setDurationMinutes(int durationMinutes) {
         this.durationMinutes = durationMinutes;
+        this.endMinute = (startMinute == NO_START) ? NO_START : startMinute + durationMinutes;
     }
 
     public List<ExamRoomAssignment> getRoomAssignments() {
@@ -0,0 +1,254 @@
+package org.example.se302;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pre-flight check run before the search. It derives cheap lower bounds on the number of exam days and
+ * reports every condition under which no schedule can exist:
+ * <ul>
+ *     <li>no allowed day in the period, or no time range long enough for an exam;</li>
+ *     <li>a course larger than the total capacity of all rooms;</li>
+ *     <li>a student whose exams need more days than the period has, given maxExamsPerDay and how many
+ *     exams fit in one day;</li>
+ *     <li>a set of pairwise conflicting courses (found greedily in the conflict graph) that cannot be
+ *     spread over the period;</li>
+ *     <li>more seat-minutes than the rooms offer over the period.</li>
+ * </ul>
+ * Every bound is necessary, so an issue always means the engine would fail. Sessions pinned by the engine are
+ * not analysed themselves; they only take away the per-day exam allowance of their students on the days of the
+ * period they fall on.
+ */
+public class FeasibilityAnalyzer {
+
+    public FeasibilityReport analyze(List<Course> courses, List<Classroom> classrooms, Constraints constraints) {
+        if (courses == null || classrooms == null) {
+            throw new IllegalArgumentException("courses/classrooms cannot be null");
+        }
+        if (constraints == null) {
+            constraints = new Constraints();
+        }
+
+        ProblemModel model = ProblemModel.compile(courses, classrooms);
+        int[] durations = new int[model.courseCount()];
+        int[] scheduled = new int[model.courseCount()];
+        int n = 0;
+        for (int c = 0; c < model.courseCount(); c++) {
+            if (model.enrollmentSize(c) == 0) continue;
+            scheduled[n++] = c;
+            durations[c] = SchedulingEngine.estimateDurationMinutes(model.credit(c), constraints);
+        }
+
+        LocalDate startDate = SchedulingEngine.firstExamDay(constraints);
+        return analyze(model, ConflictGraph.build(model), Arrays.copyOf(scheduled, n), durations, startDate,
+                SchedulingEngine.searchDays(startDate, constraints), constraints, null);
+    }
+
+    /**
+     * Analyses the given courses over the days from startDate on. The pinned state, when not null, holds sessions
+     * already fixed; they are not among the courses.
+     */
+    static FeasibilityReport analyze(ProblemModel model,
+                                     ConflictGraph graph,
+                                     int[] courses,
+                                     int[] durations,
+                                     LocalDate startDate,
+                                     int days,
+                                     Constraints constraints,
+                                     ScheduleState pinned) {
+        List<FeasibilityIssue> issues = new ArrayList<>();
+        SlotLattice lattice = constraints.slotLattice();
+        int minGap = Math.max(0, constraints.getMinMinutesBetweenExams());
+        int maxPerDay = Math.max(1, constraints.getMaxExamsPerDay());
+
+        LocalDate endDate = constraints.getExamWeekEndDate();
+        int availableDays = 0;
+        boolean[] available = new boolean[days];
+        for (int d = 0; d < days; d++) {
+            LocalDate date = startDate.plusDays(d);
+            if (endDate != null && date.isAfter(endDate)) break;
+            available[d] = lattice.isAllowed(date.getDayOfWeek());
+            if (available[d]) availableDays++;
+        }
+        if (courses.length == 0) {
+            return new FeasibilityReport(issues, availableDays, 0, 0, 0, 0);
+        }
+        if (availableDays == 0) {
+            issues.add(new FeasibilityIssue(InfeasibilityType.NO_ALLOWED_DAYS, "",
+                    "No allowed exam day between " + startDate + " and " + startDate.plusDays(days - 1)));
+        }
+
+        // Exams per day of a given length are bounded by how many fit back to back (with the gap) in the ranges.
+        Map<Integer, Integer> perDayByDuration = new HashMap<>();
+        int totalCapacity = 0;
+        for (int r = 0; r < model.roomCount(); r++) totalCapacity += Math.max(0, model.roomCapacity(r));
+
+        int maxDuration = 0;
+        long seatMinutesRequired = 0;
+        for (int c : courses) {
+            int perDay = perDayByDuration.computeIfAbsent(durations[c], d -> lattice.maxDisjointExamsPerDay(d, minGap));
+            if (perDay == 0) {
+                issues.add(new FeasibilityIssue(InfeasibilityType.NO_CANDIDATE_SLOTS, model.courseCode(c),
+                        "No allowed time range fits the " + durations[c] + "-minute exam of " + model.courseCode(c)));
+            }
+            if (model.enrollmentSize(c) > totalCapacity) {
+                issues.add(new FeasibilityIssue(InfeasibilityType.ROOM_CAPACITY, model.courseCode(c),
+                        model.courseCode(c) + " has " + model.enrollmentSize(c)
+                                + " students but all rooms together seat " + totalCapacity));
+            }
+            maxDuration = Math.max(maxDuration, durations[c]);
+            seatMinutesRequired += (long) model.enrollmentSize(c) * durations[c];
+        }
+
+        int lowerBoundDays = 1;
+        boolean[] analysed = new boolean[model.courseCount()];
+        for (int c : courses) analysed[c] = true;
+        Map<Integer, int[]> pinnedPerDay = pinnedExamsPerDay(model, pinned, startDate, available);
+
+        // Every student's courses form a clique, with maxExamsPerDay as an extra per-day limit.
+        for (int s = 0; s < model.studentCount(); s++) {
+            int[] taken = Arrays.stream(model.coursesOf(s)).filter(c -> analysed[c]).toArray();
+            if (taken.length == 0) continue;
+            int perDay = Math.min(maxPerDay, examsPerDay(taken, durations, perDayByDuration, lattice, minGap));
+            if (perDay == 0) continue;
+            int needed = ceilDiv(taken.length, perDay);
+            lowerBoundDays = Math.max(lowerBoundDays, needed);
+
+            // Pinned exams of the student use up part of maxExamsPerDay on their days.
+            int[] pinnedOnDay = pinnedPerDay.get(s);
+            int capacity = perDay * availableDays;
+            if (pinnedOnDay != null) {
+                capacity = 0;
+                for (int d = 0; d < days; d++) {
+                    if (available[d]) capacity += Math.max(0, Math.min(perDay, maxPerDay - pinnedOnDay[d]));
+                }
+            }
+            if (taken.length > capacity && availableDays > 0) {
+                issues.add(new FeasibilityIssue(InfeasibilityType.STUDENT_LOAD, model.student(s).getStudentId(),
+                        "Student " + model.student(s).getStudentId() + " has " + taken.length + " exams to place, needing at least "
+                                + needed + " days, but the " + availableDays + " available days take at most " + capacity));
+            }
+        }
+
+        int largestClique = 0;
+        int[] cliqueDays = new int[1];
+        int[] worstClique = largestConflictClique(graph, durations, courses, perDayByDuration, lattice, minGap, cliqueDays);
+        if (worstClique.length > 0) {
+            largestClique = worstClique.length;
+            lowerBoundDays = Math.max(lowerBoundDays, cliqueDays[0]);
+            if (cliqueDays[0] > availableDays && availableDays > 0) {
+                issues.add(new FeasibilityIssue(InfeasibilityType.CONFLICT_CLIQUE, model.courseCode(worstClique[0]),
+                        worstClique.length + " pairwise conflicting courses (including " + model.courseCode(worstClique[0])
+                                + ") need at least " + cliqueDays[0] + " days but only " + availableDays
+                                + " are available"));
+            }
+        }
+        for (int s = 0; s < model.studentCount(); s++) {
+            largestClique = Math.max(largestClique,
+                    (int) Arrays.stream(model.coursesOf(s)).filter(c -> analysed[c]).count());
+        }
+
+        long seatMinutesPerDay = (long) totalCapacity * lattice.usableMinutesPerDay(maxDuration);
+        long seatMinutesAvailable = seatMinutesPerDay * availableDays;
+        if (seatMinutesPerDay > 0) {
+            lowerBoundDays = (int) Math.max(lowerBoundDays, Math.min(Integer.MAX_VALUE,
+                    (seatMinutesRequired + seatMinutesPerDay - 1) / seatMinutesPerDay));
+        }
+        if (seatMinutesRequired > seatMinutesAvailable && availableDays > 0) {
+            issues.add(new FeasibilityIssue(InfeasibilityType.SEAT_MINUTES, "",
+                    "Exams need " + seatMinutesRequired + " seat-minutes but the rooms offer at most "
+                            + seatMinutesAvailable));
+        }
+
+        return new FeasibilityReport(issues, availableDays, lowerBoundDays, largestClique,
+                seatMinutesRequired, seatMinutesAvailable);
+    }
+
+    /**
+     * Per student with pinned exams, how many of them start on each available day of the analysed period.
+     */
+    private static Map<Integer, int[]> pinnedExamsPerDay(ProblemModel model,
+                                                         ScheduleState pinned,
+                                                         LocalDate startDate,
+                                                         boolean[] available) {
+        Map<Integer, int[]> perDay = new HashMap<>();
+        if (pinned == null) return perDay;
+
+        for (int i = 0; i < pinned.placedCount(); i++) {
+            int c = pinned.placedCourse(i);
+            if (!pinned.isPinned(c)) continue;
+            long d = ChronoUnit.DAYS.between(startDate, pinned.toDateTime(pinned.startOf(c)).toLocalDate());
+            if (d < 0 || d >= available.length || !available[(int) d]) continue;
+            for (int s : model.enrollment(c)) {
+                perDay.computeIfAbsent(s, x -> new int[available.length])[(int) d]++;
+            }
+        }
+        return perDay;
+    }
+
+    /**
+     * Bound on how many of the given pairwise conflicting courses can start on one day: limited by the shortest
+     * of their exams.
+     */
+    private static int examsPerDay(int[] courses,
+                                   int[] durations,
+                                   Map<Integer, Integer> perDayByDuration,
+                                   SlotLattice lattice,
+                                   int minGap) {
+        int shortest = Integer.MAX_VALUE;
+        for (int c : courses) shortest = Math.min(shortest, durations[c]);
+        return perDayByDuration.computeIfAbsent(shortest, d -> lattice.maxDisjointExamsPerDay(d, minGap));
+    }
+
+    /**
+     * Greedy clique search started from every course (neighbors tried by decreasing degree). Returns the clique
+     * needing the most days and stores that day count in neededDays[0].
+     */
+    private static int[] largestConflictClique(ConflictGraph graph,
+                                               int[] durations,
+                                               int[] courses,
+                                               Map<Integer, Integer> perDayByDuration,
+                                               SlotLattice lattice,
+                                               int minGap,
+                                               int[] neededDays) {
+        Integer[] byDegree = new Integer[courses.length];
+        for (int i = 0; i < courses.length; i++) byDegree[i] = courses[i];
+        Arrays.sort(byDegree, (a, b) -> Integer.compare(graph.degree(b), graph.degree(a)));
+
+        int[] worst = new int[0];
+        int[] clique = new int[courses.length];
+        for (int v : byDegree) {
+            // A clique containing v has at most degree(v) + 1 courses.
+            if (graph.degree(v) + 1 <= worst.length) break;
+
+            long[] candidates = graph.adjacency(v).clone();
+            int size = 0;
+            clique[size++] = v;
+            for (int u : byDegree) {
+                if (!ConflictGraph.get(candidates, u)) continue;
+                clique[size++] = u;
+                long[] adj = graph.adjacency(u);
+                for (int w = 0; w < candidates.length; w++) candidates[w] &= adj[w];
+            }
+
+            int[] found = Arrays.copyOf(clique, size);
+            int perDay = examsPerDay(found, durations, perDayByDuration, lattice, minGap);
+            if (perDay == 0) continue;
+            int needed = ceilDiv(size, perDay);
+            if (needed > neededDays[0] || (needed == neededDays[0] && size > worst.length)) {
+                neededDays[0] = needed;
+                worst = found;
+            }
+        }
+        return worst;
+    }
+
+    private static int ceilDiv(int a, int b) {
+        return (a + b - 1) / b;
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.se302;
+
+import java.util.Objects;
+
+/**
+ * One reason a scheduling problem cannot be solved, with the course code or student id it concerns
+ * (empty when it concerns the whole problem).
+ */
+public class FeasibilityIssue {
+
+    private final InfeasibilityType type;
+    private final String subject;
+    private final String description;
+
+    public FeasibilityIssue(InfeasibilityType type, String subject, String description) {
+        this.type = type;
+        this.subject = (subject == null) ? "" : subject;
+        this.description = description;
+    }
+
+    public InfeasibilityType getType() {
+        return type;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public String toString() {
+        return "FeasibilityIssue{" +
+                "type=" + type +
+                ", subject='" + subject + '\'' +
+                ", description='" + description + '\'' +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof FeasibilityIssue that)) return false;
+        return type == that.type
+                && Objects.equals(subject, that.subject)
+                && Objects.equals(description, that.description);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, subject, description);
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.se302;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of {@link FeasibilityAnalyzer}: the lower bounds it derived and every issue that makes the problem
+ * unsolvable. A report without issues does not guarantee that a schedule exists.
+ */
+public class FeasibilityReport {
+
+    private final List<FeasibilityIssue> issues;
+    private final int availableDays;
+    private final int lowerBoundDays;
+    private final int largestConflictClique;
+    private final long seatMinutesRequired;
+    private final long seatMinutesAvailable;
+
+    FeasibilityReport(List<FeasibilityIssue> issues,
+                      int availableDays,
+                      int lowerBoundDays,
+                      int largestConflictClique,
+                      long seatMinutesRequired,
+                      long seatMinutesAvailable) {
+        this.issues = new ArrayList<>(issues);
+        this.availableDays = availableDays;
+        this.lowerBoundDays = lowerBoundDays;
+        this.largestConflictClique = largestConflictClique;
+        this.seatMinutesRequired = seatMinutesRequired;
+        this.seatMinutesAvailable = seatMinutesAvailable;
+    }
+
+    public boolean isFeasible() {
+        return issues.isEmpty();
+    }
+
+    public List<FeasibilityIssue> getIssues() {
+        return Collections.unmodifiableList(issues);
+    }
+
+    /**
+     * Allowed days in the searched period.
+     */
+    public int getAvailableDays() {
+        return availableDays;
+    }
+
+    /**
+     * Fewest allowed days any valid schedule can use.
+     */
+    public int getLowerBoundDays() {
+        return lowerBoundDays;
+    }
+
+    /**
+     * Size of the largest set of pairwise conflicting courses found (heuristically, so possibly not the maximum).
+     */
+    public int getLargestConflictClique() {
+        return largestConflictClique;
+    }
+
+    public long getSeatMinutesRequired() {
+        return seatMinutesRequired;
+    }
+
+    public long getSeatMinutesAvailable() {
+        return seatMinutesAvailable;
+    }
+
+    @Override
+    public String toString() {
+        return "FeasibilityReport{" +
+                "feasible=" + isFeasible() +
+                ", issues=" + issues.size() +
+                ", availableDays=" + availableDays +
+                ", lowerBoundDays=" + lowerBoundDays +
+                ", largestConflictClique=" + largestConflictClique +
+                ", seatMinutesRequired=" + seatMinutesRequired +
+                ", seatMinutesAvailable=" + seatMinutesAvailable +
+                '}';
+    }
+}
@@ -0,0 +1,239 @@
+package org.example.se302;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the conflicts of a {@link Calendar} up to date as sessions are added and removed, instead of running
+ * {@link ConflictDetection} over the whole calendar after every edit. Sessions are indexed by room and by
+ * student, so a change only looks at sessions sharing a room or student with the changed one.
+ *
+ * <p>The conflicts reported are the ones {@link ConflictDetection#detectConflicts(Calendar)} finds, with the
+ * same types and descriptions; pair conflicts list the session that was in the calendar first. Order follows the
+ * edits rather than the calendar. Sessions are tracked by identity, and a session instance added more than once
+ * is tracked once. Changing a session while it is in the calendar (its time, rooms or students) is not seen;
+ * call {@link #refresh(ExamSession)} afterwards. Like {@link Calendar}, not thread-safe.
+ */
+public class IncrementalConflictTracker implements CalendarListener {
+
+    private final Calendar calendar;
+    private final Map<ExamSession, Entry> entries = new IdentityHashMap<>();
+    private final Map<Classroom, Set<ExamSession>> sessionsByRoom = new HashMap<>();
+    private final Map<Student, Set<ExamSession>> sessionsByStudent = new HashMap<>();
+    private final Map<Tracked, Conflict> conflicts = new LinkedHashMap<>();
+    private long nextSeq;
+
+    /**
+     * Indexes the sessions already in the calendar and subscribes to its changes.
+     */
+    public IncrementalConflictTracker(Calendar calendar) {
+        if (calendar == null) {
+            throw new IllegalArgumentException("calendar cannot be null");
+        }
+        this.calendar = calendar;
+        for (ExamSession s : calendar.getExamSessions()) {
+            add(s, nextSeq++);
+        }
+        calendar.addListener(this);
+    }
+
+    public Calendar getCalendar() {
+        return calendar;
+    }
+
+    /**
+     * Stops following the calendar; the conflicts stay as they were.
+     */
+    public void detach() {
+        calendar.removeListener(this);
+    }
+
+    /**
+     * Live, unmodifiable view of the current conflicts.
+     */
+    public Collection<Conflict> getConflicts() {
+        return Collections.unmodifiableCollection(conflicts.values());
+    }
+
+    public int getConflictCount() {
+        return conflicts.size();
+    }
+
+    public boolean hasConflicts() {
+        return !conflicts.isEmpty();
+    }
+
+    /**
+     * Conflicts involving the session, or an empty list when it is not tracked.
+     */
+    public List<Conflict> getConflicts(ExamSession session) {
+        Entry e = entries.get(session);
+        if (e == null) return List.of();
+
+        List<Conflict> out = new ArrayList<>();
+        for (Tracked t : e.conflicts) out.add(t.conflict);
+        return out;
+    }
+
+    /**
+     * Re-checks a session after it was changed in place.
+     */
+    public void refresh(ExamSession session) {
+        Entry e = entries.get(session);
+        if (e == null) return;
+
+        // The session keeps its place in the calendar, so it keeps its position in pair conflicts too.
+        int count = e.count;
+        remove(session, true);
+        add(session, e.seq);
+        Entry updated = entries.get(session);
+        if (updated != null) updated.count = count;
+    }
+
+    @Override
+    public void sessionAdded(Calendar calendar, ExamSession session) {
+        add(session, nextSeq++);
+    }
+
+    @Override
+    public void sessionRemoved(Calendar calendar, ExamSession session) {
+        remove(session, false);
+    }
+
+    private void add(ExamSession s, long seq) {
+        if (s == null || s.getStartDateTime() == null) return;
+
+        Entry existing = entries.get(s);
+        if (existing != null) {
+            existing.count++;
+            return;
+        }
+
+        Entry e = new Entry(s, seq);
+        entries.put(s, e);
+
+        for (ExamRoomAssignment ra : s.getRoomAssignments()) {
+            if (ra == null || ra.getRoom() == null) continue;
+            Set<Student> seated = new HashSet<>(ra.getStudents());
+            seated.remove(null);
+            int assigned = seated.size();
+            if (assigned > ra.getRoom().getCapacity()) {
+                track(ConflictDetection.capacityConflict(s, idOf(ra.getRoom()), assigned, ra.getRoom().getCapacity()),
+                        e, null);
+            }
+        }
+
+        for (Classroom r : e.rooms) {
+            Set<ExamSession> others = sessionsByRoom.computeIfAbsent(r, k -> identitySet());
+            for (ExamSession o : others) {
+                Entry oe = entries.get(o);
+                if (!overlaps(oe, e)) continue;
+                if (oe.seq < e.seq) track(ConflictDetection.roomOverlap(o, s, idOf(r)), oe, e);
+                else track(ConflictDetection.roomOverlap(s, o, idOf(r)), e, oe);
+            }
+            others.add(s);
+        }
+
+        for (Student st : e.students) {
+            Set<ExamSession> others = sessionsByStudent.computeIfAbsent(st, k -> identitySet());
+            for (ExamSession o : others) {
+                Entry oe = entries.get(o);
+                if (!overlaps(oe, e)) continue;
+                if (oe.seq < e.seq) track(ConflictDetection.studentCollision(o, s, idOf(st)), oe, e);
+                else track(ConflictDetection.studentCollision(s, o, idOf(st)), e, oe);
+            }
+            others.add(s);
+        }
+    }
+
+    private void remove(ExamSession s, boolean allCopies) {
+        Entry e = entries.get(s);
+        if (e == null) return;
+        if (!allCopies && --e.count > 0) return;
+
+        entries.remove(s);
+        for (Classroom r : e.rooms) unindex(sessionsByRoom, r, s);
+        for (Student st : e.students) unindex(sessionsByStudent, st, s);
+        for (Tracked t : e.conflicts) {
+            conflicts.remove(t);
+            Entry other = (t.first == e) ? t.second : t.first;
+            if (other != null) other.conflicts.remove(t);
+        }
+    }
+
+    private void track(Conflict conflict, Entry first, Entry second) {
+        Tracked t = new Tracked(conflict, first, second);
+        conflicts.put(t, conflict);
+        first.conflicts.add(t);
+        if (second != null) second.conflicts.add(t);
+    }
+
+    private static <K> void unindex(Map<K, Set<ExamSession>> index, K key, ExamSession s) {
+        Set<ExamSession> sessions = index.get(key);
+        if (sessions == null) return;
+        sessions.remove(s);
+        if (sessions.isEmpty()) index.remove(key);
+    }
+
+    private static boolean overlaps(Entry a, Entry b) {
+        return a.start < b.end && b.start < a.end;
+    }
+
+    private static Set<ExamSession> identitySet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    private static String idOf(Classroom r) {
+        return r.getClassroomId() == null ? "" : r.getClassroomId();
+    }
+
+    private static String idOf(Student st) {
+        return st.getStudentId() == null ? "" : st.getStudentId();
+    }
+
+    private static final class Entry {
+        // Epoch minutes, as in ConflictDetection.
+        final long start;
+        final long end;
+        final Set<Classroom> rooms = new LinkedHashSet<>();
+        final Set<Student> students;
+        final Set<Tracked> conflicts = new LinkedHashSet<>();
+        // Order of arrival in the calendar; the earlier session comes first in pair conflicts.
+        final long seq;
+        int count = 1;
+
+        Entry(ExamSession s, long seq) {
+            this.seq = seq;
+            this.start = s.startMinute();
+            this.end = s.endMinute();
+            for (ExamRoomAssignment ra : s.getRoomAssignments()) {
+                if (ra != null && ra.getRoom() != null) rooms.add(ra.getRoom());
+            }
+            this.students = new LinkedHashSet<>(s.getAllStudents());
+        }
+    }
+
+    /**
+     * One tracked conflict; identity equality, so equal conflicts of different sessions stay apart.
+     */
+    private static final class Tracked {
+        final Conflict conflict;
+        final Entry first;
+        final Entry second;
+
+        Tracked(Conflict conflict, Entry first, Entry second) {
+            this.conflict = conflict;
+            this.first = first;
+            this.second = second;
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package org.example.se302;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Repairs a published schedule after late enrollment, course or classroom changes instead of regenerating it.
+ *
+ * <p>Sessions not touched by the change set are loaded as fixed capacity and returned unchanged. A session is
+ * affected when its course gained or lost students, one of its rooms was removed, or it shares a room or a student
+ * with an overlapping session loaded before it; it keeps its time and rooms when they still work, otherwise keeps
+ * its time in other rooms, and only then moves to the earliest feasible slot. Courses without a session (such as
+ * added ones) are placed last. Sessions of removed or empty courses are dropped. When a course cannot be placed,
+ * the engine's backtracking settings decide whether other sessions may be moved to make room; otherwise an
+ * {@link IllegalStateException} is thrown.
+ */
+public class IncrementalRescheduler {
+
+    private final SchedulingEngine engine;
+
+    public IncrementalRescheduler() {
+        this(new SchedulingEngine());
+    }
+
+    public IncrementalRescheduler(SchedulingEngine engine) {
+        if (engine == null) {
+            throw new IllegalArgumentException("engine cannot be null");
+        }
+        this.engine = engine;
+    }
+
+    public SchedulingEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Returns the repaired schedule; the existing calendar is not modified.
+     * The course and classroom lists must already include the changes.
+     */
+    public Calendar reschedule(Calendar existing,
+                               List<Course> courses,
+                               List<Classroom> classrooms,
+                               Constraints constraints,
+                               ScheduleChangeSet changes) {
+        if (existing == null) {
+            throw new IllegalArgumentException("existing calendar cannot be null");
+        }
+        constraints = (constraints == null) ? new Constraints() : new Constraints(constraints);
+        if (changes == null) {
+            changes = new ScheduleChangeSet();
+        }
+
+        ProblemModel model = ProblemModel.compile(courses, classrooms);
+        List<ExamSession> sessions = existing.getExamSessions();
+
+        Set<Course> touched = new HashSet<>(changes.getAddedCourses());
+        for (ScheduleChangeSet.Enrollment e : changes.getAddedEnrollments()) touched.add(e.getCourse());
+        for (ScheduleChangeSet.Enrollment e : changes.getRemovedEnrollments()) touched.add(e.getCourse());
+        Set<Classroom> removedRooms = new HashSet<>(changes.getRemovedClassrooms());
+
+        // The period starts at the earlier of the configured first day and the first published session.
+        LocalDate searchFrom = SchedulingEngine.firstExamDay(constraints);
+        LocalDate periodStart = searchFrom;
+        LocalDate lastSessionDay = searchFrom;
+        for (ExamSession s : sessions) {
+            if (s.getStartDateTime() == null) continue;
+            LocalDate d = s.getStartDateTime().toLocalDate();
+            if (d.isBefore(periodStart)) periodStart = d;
+            if (d.isAfter(lastSessionDay)) lastSessionDay = d;
+        }
+        int lead = (int) ChronoUnit.DAYS.between(periodStart, searchFrom);
+        int days = Math.max(lead + SchedulingEngine.searchDays(searchFrom, constraints),
+                (int) ChronoUnit.DAYS.between(periodStart, lastSessionDay) + 1);
+
+        ScheduleState state = new ScheduleState(model, ConflictGraph.build(model), periodStart, days,
+                constraints.getRoomTurnoverMinutes());
+
+        // Published sessions per course id; sessions of removed or emptied courses, and duplicates, are dropped.
+        ExamSession[] published = new ExamSession[model.courseCount()];
+        int[][] publishedRooms = new int[model.courseCount()][];
+        boolean[] affected = new boolean[model.courseCount()];
+        for (ExamSession s : sessions) {
+            int c = model.courseId(s.getCourse());
+            if (c < 0 || model.enrollmentSize(c) == 0 || published[c] != null) continue;
+            if (s.getStartDateTime() == null || s.getDurationMinutes() <= 0) continue;
+
+            published[c] = s;
+            publishedRooms[c] = roomIds(model, s, removedRooms);
+            affected[c] = touched.contains(model.course(c)) || publishedRooms[c] == null;
+        }
+
+        // Unaffected sessions become fixed capacity before anything is re-validated. The room timeline and the
+        // student index assume their bookings never overlap, so a session clashing with one already loaded (in an
+        // edited or imported calendar) is treated as affected instead.
+        for (int c = 0; c < published.length; c++) {
+            if (published[c] == null || affected[c]) continue;
+
+            int start = state.toMinute(published[c].getStartDateTime());
+            int end = start + published[c].getDurationMinutes();
+            if (!roomsFree(state, publishedRooms[c], start, end)
+                    || state.studentIndex().violates(c, start, end, 0, Integer.MAX_VALUE)) {
+                affected[c] = true;
+                continue;
+            }
+
+            List<ExamRoomAssignment> assignments = published[c].getRoomAssignments();
+            int[] seats = new int[assignments.size()];
+            for (int i = 0; i < seats.length; i++) seats[i] = assignments.get(i).getStudentCount();
+            state.place(c, start, published[c].getDurationMinutes(), publishedRooms[c], seats);
+        }
+
+        // Affected sessions keep their time and rooms when possible, then their time alone.
+        List<Integer> unplaced = new ArrayList<>();
+        for (int c = 0; c < published.length; c++) {
+            if (published[c] == null || !affected[c] || publishedRooms[c] == null) continue;
+            if (!engine.placeAt(state, c, state.toMinute(published[c].getStartDateTime()),
+                    published[c].getDurationMinutes(), publishedRooms[c], constraints)) {
+                unplaced.add(c);
+            }
+        }
+        for (int c = 0; c < published.length; c++) {
+            if (published[c] == null || !affected[c] || publishedRooms[c] != null) continue;
+            unplaced.add(c);
+        }
+        List<Integer> moved = new ArrayList<>();
+        for (int c : unplaced) {
+            int start = state.toMinute(published[c].getStartDateTime());
+            int duration = published[c].getDurationMinutes();
+            SchedulingEngine.RoomAllocation allocation = engine.evaluateSlot(state, c, start, duration, constraints);
+            if (allocation == null) {
+                moved.add(c);
+                continue;
+            }
+            state.place(c, start, duration, allocation.rooms, allocation.seats);
+        }
+
+        // Whatever is left, plus courses that never had a session, goes to the earliest feasible slot.
+        int[] durations = new int[model.courseCount()];
+        for (int c = 0; c < model.courseCount(); c++) {
+            if (model.enrollmentSize(c) == 0) continue;
+            durations[c] = published[c] != null
+                    ? published[c].getDurationMinutes()
+                    : SchedulingEngine.estimateDurationMinutes(model.credit(c), constraints);
+            if (published[c] == null) moved.add(c);
+        }
+        if (moved.isEmpty()) {
+            return toCalendar(state, sessions, published, publishedRooms, affected);
+        }
+
+        // Moved sessions may push others aside during backtracking, so every course needs its slots.
+        CandidateSlots[] slots = new CandidateSlots[model.courseCount()];
+        Map<Integer, CandidateSlots> slotsByDuration = new HashMap<>();
+        for (int c = 0; c < model.courseCount(); c++) {
+            if (model.enrollmentSize(c) == 0) continue;
+            CandidateSlots cs = slotsByDuration.get(durations[c]);
+            if (cs == null) {
+                cs = engine.candidateSlots(periodStart, searchFrom, days, durations[c], constraints);
+                slotsByDuration.put(durations[c], cs);
+            }
+            slots[c] = cs;
+        }
+
+        moved.sort(Comparator.comparingInt((Integer c) -> model.enrollmentSize(c)).reversed()
+                .thenComparing(model::courseCode));
+        for (int i = 0; i < moved.size(); i++) {
+            int c = moved.get(i);
+            if (!engine.placeEarliest(state, c, slots[c], durations[c], null, constraints)) {
+                engine.backtrackOrFail(state, moved.subList(i, moved.size()), slots, durations, constraints, c);
+                break;
+            }
+        }
+
+        return toCalendar(state, sessions, published, publishedRooms, affected);
+    }
+
+    /**
+     * True when every room is free for [start, end) and no room is listed twice.
+     */
+    private static boolean roomsFree(ScheduleState state, int[] roomIds, int start, int end) {
+        for (int i = 0; i < roomIds.length; i++) {
+            if (!state.roomTimeline().isFree(roomIds[i], start, end)) return false;
+            for (int j = 0; j < i; j++) {
+                if (roomIds[j] == roomIds[i]) return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Room ids of the session, or null when one of its rooms no longer exists.
+     */
+    private static int[] roomIds(ProblemModel model, ExamSession session, Set<Classroom> removedRooms) {
+        List<ExamRoomAssignment> assignments = session.getRoomAssignments();
+        int[] ids = new int[assignments.size()];
+        for (int i = 0; i < ids.length; i++) {
+            Classroom room = assignments.get(i).getRoom();
+            ids[i] = removedRooms.contains(room) ? -1 : model.roomId(room);
+            if (ids[i] < 0) return null;
+        }
+        return ids;
+    }
+
+    /**
+     * Sessions in their published order, reusing the published object wherever nothing changed, followed by
+     * newly placed courses.
+     */
+    private static Calendar toCalendar(ScheduleState state,
+                                       List<ExamSession> sessions,
+                                       ExamSession[] published,
+                                       int[][] publishedRooms,
+                                       boolean[] affected) {
+        ProblemModel model = state.model();
+        Calendar calendar = new Calendar();
+        boolean[] emitted = new boolean[model.courseCount()];
+        for (ExamSession s : sessions) {
+            int c = model.courseId(s.getCourse());
+            if (c < 0 || published[c] != s || !state.isPlaced(c)) continue;
+
+            boolean unchanged = !affected[c]
+                    && Arrays.equals(state.roomsOf(c), publishedRooms[c])
+                    && state.toDateTime(state.startOf(c)).equals(s.getStartDateTime());
+            calendar.addExamSession(unchanged ? s : state.toSession(c));
+            emitted[c] = true;
+        }
+        for (int i = 0; i < state.placedCount(); i++) {
+            int c = state.placedCourse(i);
+            if (!emitted[c]) calendar.addExamSession(state.toSession(c));
+        }
+        return calendar;
+    }
+}
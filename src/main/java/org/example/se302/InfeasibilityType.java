@@ -0,0 +1,16 @@
+package org.example.se302;
+
+public enum InfeasibilityType {
+    /** No day of the exam period is an allowed day. */
+    NO_ALLOWED_DAYS,
+    /** No allowed time range is long enough for the course's exam. */
+    NO_CANDIDATE_SLOTS,
+    /** The course has more students than all rooms together can seat. */
+    ROOM_CAPACITY,
+    /** A student has more exams than maxExamsPerDay (and the day length) allow over the period. */
+    STUDENT_LOAD,
+    /** A set of pairwise conflicting courses needs more days than the period has. */
+    CONFLICT_CLIQUE,
+    /** Total seat-minutes needed exceed what the rooms offer over the period. */
+    SEAT_MINUTES
+}
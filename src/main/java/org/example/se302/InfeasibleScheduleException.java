@@ -0,0 +1,27 @@
+package org.example.se302;
+
+/**
+ * Thrown by {@link SchedulingEngine#generateSchedule} when the pre-flight analysis proves no schedule exists.
+ */
+public class InfeasibleScheduleException extends IllegalStateException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient FeasibilityReport report;
+
+    public InfeasibleScheduleException(FeasibilityReport report) {
+        super(message(report));
+        this.report = report;
+    }
+
+    public FeasibilityReport getReport() {
+        return report;
+    }
+
+    private static String message(FeasibilityReport report) {
+        if (report == null || report.getIssues().isEmpty()) return "Schedule is infeasible";
+        FeasibilityIssue first = report.getIssues().get(0);
+        int more = report.getIssues().size() - 1;
+        return "Schedule is infeasible: " + first.getDescription() + (more > 0 ? " (and " + more + " more)" : "");
+    }
+}
@@ -0,0 +1,257 @@
+package org.example.se302;
+
+import java.util.Random;
+
+/**
+ * Simulated annealing over a complete schedule. A step either moves one exam to another candidate slot or
+ * swaps the slots of two exams of equal length. Hard constraints are re-checked through the engine's slot
+ * evaluation against the incremental indexes, so a step only costs the students of the exams involved.
+ *
+ * <p>The soft penalty (lower is better) is {@code dayWeight} per exam day used plus, for every student and
+ * every pair of their exams, 16/8/4/2/1 when the exams are 0/1/2/3/4 days apart.
+ *
+ * <p>Exams are only moved to days up to {@code lastDay}, so the phase never lengthens the exam period.
+ *
+ * <p>Given the same seed the search is reproducible as long as the iteration limit, not the time budget,
+ * ends it.
+ */
+final class LocalSearchImprover {
+
+    private static final int[] PROXIMITY = {16, 8, 4, 2, 1};
+    private static final double FINAL_TEMPERATURE = 0.5;
+    private static final double MOVE_PROBABILITY = 0.8;
+
+    private final SchedulingEngine engine;
+    private final int[] courses;
+    private final CandidateSlots[] slots;
+    private final int[] durations;
+    private final Constraints constraints;
+    private final Random random;
+    private final long dayWeight;
+    private final int lastDay;
+
+    private final ScheduleState state;
+    private int[] coursesPerDay;
+    private long penalty;
+
+    LocalSearchImprover(SchedulingEngine engine,
+                        ScheduleState state,
+                        int[] courses,
+                        CandidateSlots[] slots,
+                        int[] durations,
+                        Constraints constraints,
+                        int lastDay,
+                        long seed) {
+        this.engine = engine;
+        this.state = state;
+        this.courses = courses;
+        this.slots = slots;
+        this.durations = durations;
+        this.constraints = constraints;
+        this.random = new Random(seed);
+        this.dayWeight = Math.max(1, state.model().studentCount());
+        this.lastDay = lastDay;
+    }
+
+    /**
+     * Improves the schedule in place until the time budget or iteration limit is used up; the state ends up
+     * holding the best schedule seen.
+     */
+    void improve(long timeBudgetMillis, long maxIterations) {
+        if (courses.length == 0 || maxIterations <= 0) return;
+
+        coursesPerDay = new int[state.dayCount()];
+        // Days used by pinned or otherwise fixed sessions count too; only the searched courses move.
+        for (int i = 0; i < state.placedCount(); i++) {
+            int day = ScheduleState.dayOf(state.startOf(state.placedCourse(i)));
+            if (day >= 0 && day < coursesPerDay.length) coursesPerDay[day]++;
+        }
+        penalty = totalPenalty();
+
+        long bestPenalty = penalty;
+        Snapshot best = new Snapshot(state);
+
+        long startNanos = System.nanoTime();
+        long budgetNanos = Math.max(1, timeBudgetMillis) * 1_000_000L;
+        double initialTemperature = Math.max(FINAL_TEMPERATURE, dayWeight / 4.0);
+
+        for (long iter = 0; iter < maxIterations; iter++) {
+            if ((iter & 255) == 0) {
+                if (System.nanoTime() - startNanos >= budgetNanos || state.monitor().shouldStop()) break;
+                state.monitor().bestScore(bestPenalty);
+            }
+            // Cooling follows the iteration count only; the time budget just stops the search.
+            double progress = (double) iter / maxIterations;
+            double temperature = initialTemperature * Math.pow(FINAL_TEMPERATURE / initialTemperature, progress);
+
+            boolean changed = random.nextDouble() < MOVE_PROBABILITY
+                    ? tryMove(temperature)
+                    : trySwap(temperature);
+
+            if (changed && penalty < bestPenalty) {
+                bestPenalty = penalty;
+                best = new Snapshot(state);
+            }
+        }
+
+        if (penalty != bestPenalty) {
+            best.restore();
+        }
+        state.monitor().bestScore(bestPenalty);
+    }
+
+    private boolean tryMove(double temperature) {
+        int c = courses[random.nextInt(courses.length)];
+        CandidateSlots cs = slots[c];
+        int slotCount = cs.firstSlotOfDay(lastDay + 1);
+        if (slotCount == 0) return false;
+
+        int oldStart = state.startOf(c);
+        int newStart = cs.start(random.nextInt(slotCount));
+        if (newStart == oldStart) return false;
+
+        int[] oldRooms = state.roomsOf(c);
+        int[] oldSeats = state.seatsOf(c);
+        int oldDay = ScheduleState.dayOf(oldStart);
+        int newDay = ScheduleState.dayOf(newStart);
+
+        long delta = -remove(c, oldDay);
+        SchedulingEngine.RoomAllocation allocation =
+                engine.evaluateSlot(state, c, newStart, durations[c], constraints);
+        if (allocation != null) {
+            delta += addedPenalty(c, newDay);
+            if (accept(delta, temperature)) {
+                add(c, newStart, allocation.rooms, allocation.seats, newDay);
+                penalty += delta;
+                return true;
+            }
+        }
+
+        add(c, oldStart, oldRooms, oldSeats, oldDay);
+        return false;
+    }
+
+    private boolean trySwap(double temperature) {
+        int c1 = courses[random.nextInt(courses.length)];
+        int c2 = courses[random.nextInt(courses.length)];
+        // Equal durations share one slot list, so each start is valid for the other course.
+        if (c1 == c2 || durations[c1] != durations[c2]) return false;
+
+        int s1 = state.startOf(c1);
+        int s2 = state.startOf(c2);
+        if (s1 == s2) return false;
+
+        int[] rooms1 = state.roomsOf(c1);
+        int[] seats1 = state.seatsOf(c1);
+        int[] rooms2 = state.roomsOf(c2);
+        int[] seats2 = state.seatsOf(c2);
+        int d1 = ScheduleState.dayOf(s1);
+        int d2 = ScheduleState.dayOf(s2);
+
+        long delta = -remove(c1, d1);
+        delta -= remove(c2, d2);
+
+        SchedulingEngine.RoomAllocation a1 = engine.evaluateSlot(state, c1, s2, durations[c1], constraints);
+        if (a1 != null) {
+            delta += addedPenalty(c1, d2);
+            add(c1, s2, a1.rooms, a1.seats, d2);
+
+            SchedulingEngine.RoomAllocation a2 = engine.evaluateSlot(state, c2, s1, durations[c2], constraints);
+            if (a2 != null) {
+                delta += addedPenalty(c2, d1);
+                if (accept(delta, temperature)) {
+                    add(c2, s1, a2.rooms, a2.seats, d1);
+                    penalty += delta;
+                    return true;
+                }
+            }
+            remove(c1, d2);
+        }
+
+        add(c1, s1, rooms1, seats1, d1);
+        add(c2, s2, rooms2, seats2, d2);
+        return false;
+    }
+
+    private boolean accept(long delta, double temperature) {
+        if (delta <= 0) return true;
+        return random.nextDouble() < Math.exp(-delta / temperature);
+    }
+
+    /**
+     * Unplaces the course and returns the penalty it contributed.
+     */
+    private long remove(int c, int day) {
+        state.unplace(c);
+        coursesPerDay[day]--;
+        return addedPenalty(c, day);
+    }
+
+    private void add(int c, int start, int[] rooms, int[] seats, int day) {
+        state.place(c, start, durations[c], rooms, seats);
+        coursesPerDay[day]++;
+    }
+
+    /**
+     * Penalty the (currently unplaced) course would add on the given day.
+     */
+    private long addedPenalty(int c, int day) {
+        long p = (coursesPerDay[day] == 0) ? dayWeight : 0;
+
+        StudentExamIndex index = state.studentIndex();
+        int[] starts = index.starts();
+        for (int s : state.model().enrollment(c)) {
+            for (int i = index.from(s), to = i + index.count(s); i < to; i++) {
+                p += proximity(day, ScheduleState.dayOf(starts[i]));
+            }
+        }
+        return p;
+    }
+
+    private long totalPenalty() {
+        long p = 0;
+        for (int count : coursesPerDay) {
+            if (count > 0) p += dayWeight;
+        }
+
+        StudentExamIndex index = state.studentIndex();
+        int[] starts = index.starts();
+        for (int s = 0; s < state.model().studentCount(); s++) {
+            for (int i = index.from(s), to = i + index.count(s); i < to; i++) {
+                for (int j = i + 1; j < to; j++) {
+                    p += proximity(ScheduleState.dayOf(starts[i]), ScheduleState.dayOf(starts[j]));
+                }
+            }
+        }
+        return p;
+    }
+
+    private static int proximity(int dayA, int dayB) {
+        int gap = Math.abs(dayA - dayB);
+        return gap < PROXIMITY.length ? PROXIMITY[gap] : 0;
+    }
+
+    /**
+     * Copy of every searched course's placement.
+     */
+    private final class Snapshot {
+        private final int[] starts = new int[courses.length];
+        private final int[][] rooms = new int[courses.length][];
+        private final int[][] seats = new int[courses.length][];
+
+        Snapshot(ScheduleState from) {
+            for (int i = 0; i < courses.length; i++) {
+                starts[i] = from.startOf(courses[i]);
+                rooms[i] = from.roomsOf(courses[i]);
+                seats[i] = from.seatsOf(courses[i]);
+            }
+        }
+
+        void restore() {
+            for (int c : courses) state.unplace(c);
+            for (int i = 0; i < courses.length; i++) {
+                state.place(courses[i], starts[i], durations[courses[i]], rooms[i], seats[i]);
+            }
+        }
+    }
+}
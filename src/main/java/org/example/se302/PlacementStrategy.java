@@ -0,0 +1,8 @@
+package org.example.se302;
+
+public enum PlacementStrategy {
+    /** Courses are placed once, in {@link SchedulingOptions#getCourseOrdering()} order, each at its earliest feasible slot. */
+    STATIC_ORDER,
+    /** Next course is the one with the fewest feasible slots left (DSatur), ties broken by conflict degree. */
+    SATURATION
+}
@@ -0,0 +1,153 @@
+package org.example.se302;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs several engine configurations (orderings, placement strategies, random seeds) concurrently and keeps
+ * the best complete schedule according to a {@link ScheduleScore}. Every worker gets its own
+ * {@link SchedulingEngine} and therefore its own search state, so workers never share anything mutable.
+ */
+public class PortfolioSolver {
+
+    private final List<SchedulingOptions> configurations;
+    private ScheduleScore score;
+    private long timeBudgetMillis;
+
+    public PortfolioSolver() {
+        this(defaultPortfolio(Runtime.getRuntime().availableProcessors()));
+    }
+
+    public PortfolioSolver(List<SchedulingOptions> configurations) {
+        if (configurations == null || configurations.isEmpty()) {
+            throw new IllegalArgumentException("configurations cannot be empty");
+        }
+        this.configurations = new ArrayList<>();
+        for (SchedulingOptions o : configurations) {
+            if (o != null) this.configurations.add(new SchedulingOptions(o));
+        }
+        this.score = ScheduleScore.daysUsed();
+        this.timeBudgetMillis = 60_000;
+    }
+
+    /**
+     * Largest-first, DSatur, conflict-degree and longest-first orderings, padded with seeded random orderings
+     * up to {@code size} configurations.
+     */
+    public static List<SchedulingOptions> defaultPortfolio(int size) {
+        List<SchedulingOptions> out = new ArrayList<>();
+
+        out.add(new SchedulingOptions());
+
+        SchedulingOptions saturation = new SchedulingOptions();
+        saturation.setPlacementStrategy(PlacementStrategy.SATURATION);
+        out.add(saturation);
+
+        SchedulingOptions degree = new SchedulingOptions();
+        degree.setCourseOrdering(CourseOrdering.CONFLICT_DEGREE);
+        out.add(degree);
+
+        SchedulingOptions duration = new SchedulingOptions();
+        duration.setCourseOrdering(CourseOrdering.DURATION);
+        out.add(duration);
+
+        for (long seed = 1; out.size() < size; seed++) {
+            SchedulingOptions random = new SchedulingOptions();
+            random.setCourseOrdering(CourseOrdering.RANDOM);
+            random.setRandomSeed(seed);
+            out.add(random);
+        }
+        return out;
+    }
+
+    public List<SchedulingOptions> getConfigurations() {
+        return List.copyOf(configurations);
+    }
+
+    public ScheduleScore getScore() {
+        return score;
+    }
+
+    public void setScore(ScheduleScore score) {
+        if (score == null) {
+            throw new IllegalArgumentException("score cannot be null");
+        }
+        this.score = score;
+    }
+
+    public long getTimeBudgetMillis() {
+        return timeBudgetMillis;
+    }
+
+    public void setTimeBudgetMillis(long timeBudgetMillis) {
+        if (timeBudgetMillis < 1) {
+            throw new IllegalArgumentException("timeBudgetMillis must be at least 1");
+        }
+        this.timeBudgetMillis = timeBudgetMillis;
+    }
+
+    /**
+     * Best schedule found within the time budget. Configurations still running when the budget expires are
+     * interrupted and ignored; ties keep the configuration listed first.
+     */
+    public Calendar solve(List<Course> courses, List<Classroom> classrooms, Constraints constraints) {
+        if (courses == null || classrooms == null) {
+            throw new IllegalArgumentException("courses/classrooms cannot be null");
+        }
+
+        int threads = Math.max(1, Math.min(configurations.size(), Runtime.getRuntime().availableProcessors()));
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "portfolio-worker");
+            t.setDaemon(true);
+            return t;
+        });
+
+        try {
+            List<Future<Calendar>> futures = new ArrayList<>();
+            for (SchedulingOptions o : configurations) {
+                futures.add(pool.submit(() -> new SchedulingEngine(o).generateSchedule(courses, classrooms, constraints)));
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeBudgetMillis);
+            Calendar best = null;
+            double bestScore = Double.POSITIVE_INFINITY;
+            String firstFailure = null;
+
+            for (Future<Calendar> f : futures) {
+                Calendar result;
+                try {
+                    result = f.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                } catch (TimeoutException ex) {
+                    f.cancel(true);
+                    continue;
+                } catch (ExecutionException ex) {
+                    if (firstFailure == null) firstFailure = String.valueOf(ex.getCause().getMessage());
+                    continue;
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+
+                double s = score.score(result);
+                if (best == null || s < bestScore) {
+                    best = result;
+                    bestScore = s;
+                }
+            }
+
+            if (best == null) {
+                throw new IllegalStateException("No configuration produced a schedule"
+                        + (firstFailure == null ? " within the time budget" : (": " + firstFailure)));
+            }
+            return best;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package org.example.se302;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dense, integer-indexed view of a scheduling problem.
+ * Every course, student and classroom gets an id in [0, count) and enrollments are stored as int arrays,
+ * so the engine never has to walk object graphs (or hash entities) while searching.
+ * The model is immutable once compiled.
+ */
+public final class ProblemModel {
+
+    private final Course[] courses;
+    private final int[] credits;
+    private final int[][] courseStudents;
+
+    private final Student[] students;
+    private final int[][] studentCourses;
+
+    private final Classroom[] rooms;
+    private final int[] roomCapacities;
+
+    private final Map<Course, Integer> courseIds;
+    private final Map<Student, Integer> studentIds;
+    private final Map<Classroom, Integer> roomIds;
+
+    private ProblemModel(Course[] courses,
+                         int[] credits,
+                         int[][] courseStudents,
+                         Student[] students,
+                         int[][] studentCourses,
+                         Classroom[] rooms,
+                         int[] roomCapacities,
+                         Map<Course, Integer> courseIds,
+                         Map<Student, Integer> studentIds,
+                         Map<Classroom, Integer> roomIds) {
+        this.courses = courses;
+        this.credits = credits;
+        this.courseStudents = courseStudents;
+        this.students = students;
+        this.studentCourses = studentCourses;
+        this.rooms = rooms;
+        this.roomCapacities = roomCapacities;
+        this.courseIds = courseIds;
+        this.studentIds = studentIds;
+        this.roomIds = roomIds;
+    }
+
+    public static ProblemModel compile(List<Course> courses, List<Classroom> classrooms) {
+        if (courses == null || classrooms == null) {
+            throw new IllegalArgumentException("courses/classrooms cannot be null");
+        }
+
+        Map<Course, Integer> courseIds = new HashMap<>();
+        List<Course> courseList = new ArrayList<>();
+        for (Course c : courses) {
+            if (c == null || courseIds.containsKey(c)) continue;
+            courseIds.put(c, courseList.size());
+            courseList.add(c);
+        }
+
+        Map<Student, Integer> studentIds = new HashMap<>();
+        List<Student> studentList = new ArrayList<>();
+        int[][] courseStudents = new int[courseList.size()][];
+        int[] credits = new int[courseList.size()];
+        int[] studentCourseCounts = new int[16];
+        int[] lastCourse = new int[16];
+
+        for (int c = 0; c < courseList.size(); c++) {
+            Course course = courseList.get(c);
+            credits[c] = course.getCredit();
+
+            List<Student> enrolled = course.getEnrolledStudents();
+            int[] ids = new int[enrolled == null ? 0 : enrolled.size()];
+            int n = 0;
+            if (enrolled != null) {
+                for (Student st : enrolled) {
+                    if (st == null) continue;
+                    Integer id = studentIds.get(st);
+                    if (id == null) {
+                        id = studentList.size();
+                        studentIds.put(st, id);
+                        studentList.add(st);
+                        if (id >= studentCourseCounts.length) {
+                            studentCourseCounts = Arrays.copyOf(studentCourseCounts, studentCourseCounts.length * 2);
+                            lastCourse = Arrays.copyOf(lastCourse, lastCourse.length * 2);
+                        }
+                    }
+                    // Duplicate enrollments collapse into one (course ids are stored shifted by one).
+                    if (lastCourse[id] == c + 1) continue;
+                    lastCourse[id] = c + 1;
+                    ids[n++] = id;
+                    studentCourseCounts[id]++;
+                }
+            }
+            courseStudents[c] = (n == ids.length) ? ids : Arrays.copyOf(ids, n);
+        }
+
+        int[][] studentCourses = new int[studentList.size()][];
+        for (int s = 0; s < studentCourses.length; s++) {
+            studentCourses[s] = new int[studentCourseCounts[s]];
+        }
+        int[] fill = new int[studentList.size()];
+        for (int c = 0; c < courseStudents.length; c++) {
+            for (int s : courseStudents[c]) {
+                studentCourses[s][fill[s]++] = c;
+            }
+        }
+
+        List<Classroom> roomList = new ArrayList<>();
+        for (Classroom r : classrooms) {
+            if (r != null && !roomList.contains(r)) roomList.add(r);
+        }
+        // Alphabetical by block + room number (e.g., A101, A102 ... M101, M116)
+        roomList.sort(Comparator
+                .comparing((Classroom r) -> roomBlock(r.getClassroomId()))
+                .thenComparingInt(r -> roomNumber(r.getClassroomId()))
+                .thenComparing(r -> r.getClassroomId() == null ? "" : r.getClassroomId()));
+
+        Map<Classroom, Integer> roomIds = new HashMap<>();
+        int[] capacities = new int[roomList.size()];
+        for (int r = 0; r < roomList.size(); r++) {
+            roomIds.put(roomList.get(r), r);
+            capacities[r] = roomList.get(r).getCapacity();
+        }
+
+        return new ProblemModel(
+                courseList.toArray(new Course[0]),
+                credits,
+                courseStudents,
+                studentList.toArray(new Student[0]),
+                studentCourses,
+                roomList.toArray(new Classroom[0]),
+                capacities,
+                courseIds,
+                studentIds,
+                roomIds);
+    }
+
+    public int courseCount() {
+        return courses.length;
+    }
+
+    public int studentCount() {
+        return students.length;
+    }
+
+    public int roomCount() {
+        return rooms.length;
+    }
+
+    public Course course(int courseId) {
+        return courses[courseId];
+    }
+
+    public String courseCode(int courseId) {
+        String code = courses[courseId].getCourseCode();
+        return code == null ? "" : code;
+    }
+
+    public int credit(int courseId) {
+        return credits[courseId];
+    }
+
+    /**
+     * Student ids enrolled in the course, in enrollment order. The returned array must not be modified.
+     */
+    public int[] enrollment(int courseId) {
+        return courseStudents[courseId];
+    }
+
+    public int enrollmentSize(int courseId) {
+        return courseStudents[courseId].length;
+    }
+
+    public Student student(int studentId) {
+        return students[studentId];
+    }
+
+    /**
+     * Course ids the student is enrolled in. The returned array must not be modified.
+     */
+    public int[] coursesOf(int studentId) {
+        return studentCourses[studentId];
+    }
+
+    /**
+     * Rooms are ordered alphabetically by block and room number; id order is the default assignment order.
+     */
+    public Classroom room(int roomId) {
+        return rooms[roomId];
+    }
+
+    public int roomCapacity(int roomId) {
+        return roomCapacities[roomId];
+    }
+
+    public int courseId(Course course) {
+        Integer id = course == null ? null : courseIds.get(course);
+        return id == null ? -1 : id;
+    }
+
+    public int studentId(Student student) {
+        Integer id = student == null ? null : studentIds.get(student);
+        return id == null ? -1 : id;
+    }
+
+    public int roomId(Classroom room) {
+        Integer id = room == null ? null : roomIds.get(room);
+        return id == null ? -1 : id;
+    }
+
+    private static String roomBlock(String id) {
+        if (id == null) return "";
+        return id.replaceAll("[^A-Za-z]", "");
+    }
+
+    private static int roomNumber(String id) {
+        if (id == null) return Integer.MAX_VALUE;
+        String digits = id.replaceAll("[^0-9]", "");
+        if (digits.isEmpty()) return Integer.MAX_VALUE;
+        try {
+            return Integer.parseInt(digits);
+        } catch (Exception e) {
+            return Integer.MAX_VALUE;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ProblemModel{" +
+                "courses=" + courses.length +
+                ", students=" + students.length +
+                ", rooms=" + rooms.length +
+                '}';
+    }
+}
@@ -0,0 +1,141 @@
+package org.example.se302;
+
+import java.util.Arrays;
+
+/**
+ * {@link RoomTimeline} that books room classes instead of rooms: a room id stands for "one room of its class",
+ * and a class is free for a window while fewer of its bookings overlap the window than it has rooms. Booked
+ * intervals are stored per class, extended by the turnover buffer, sorted by start. Free rooms are reported as
+ * the lowest-id members of each class, so equivalent rooms are never tried as separate alternatives.
+ * {@link RoomClasses#assignRooms(ScheduleState)} turns the bookings into concrete rooms at the end.
+ */
+final class RoomClassTimeline extends RoomTimeline {
+
+    private final RoomClasses classes;
+    private final int roomCount;
+    private final int[][] starts;
+    private final int[][] ends;
+    private final int[] size;
+    private final int[] maxLength;
+
+    RoomClassTimeline(RoomClasses classes, int roomCount, int turnoverMinutes) {
+        super(roomCount, turnoverMinutes);
+        this.classes = classes;
+        this.roomCount = roomCount;
+        int n = classes.classCount();
+        this.starts = new int[n][4];
+        this.ends = new int[n][4];
+        this.size = new int[n];
+        this.maxLength = new int[n];
+    }
+
+    @Override
+    boolean isFree(int room, int start, int end) {
+        return freeCount(classes.classOf(room), start, end) > 0;
+    }
+
+    @Override
+    int[] freeRooms(int start, int end) {
+        int[] free = new int[roomCount];
+        int n = 0;
+        for (int k = 0; k < classes.classCount(); k++) {
+            int[] members = classes.members(k);
+            int f = freeCount(k, start, end);
+            for (int i = 0; i < f; i++) free[n++] = members[i];
+        }
+        Arrays.sort(free, 0, n);
+        return Arrays.copyOf(free, n);
+    }
+
+    @Override
+    boolean tryOccupy(int[] rooms, int start, int end) {
+        int[] wanted = new int[classes.classCount()];
+        for (int r : rooms) wanted[classes.classOf(r)]++;
+        for (int k = 0; k < wanted.length; k++) {
+            if (wanted[k] > 0 && freeCount(k, start, end) < wanted[k]) return false;
+        }
+        for (int r : rooms) {
+            occupy(r, start, end);
+        }
+        return true;
+    }
+
+    @Override
+    void occupy(int room, int start, int end) {
+        int k = classes.classOf(room);
+        int extendedEnd = end + turnoverMinutes();
+        int n = size[k];
+        if (n == starts[k].length) {
+            starts[k] = Arrays.copyOf(starts[k], n * 2);
+            ends[k] = Arrays.copyOf(ends[k], n * 2);
+        }
+        int i = lowerBound(k, start);
+        System.arraycopy(starts[k], i, starts[k], i + 1, n - i);
+        System.arraycopy(ends[k], i, ends[k], i + 1, n - i);
+        starts[k][i] = start;
+        ends[k][i] = extendedEnd;
+        size[k] = n + 1;
+        maxLength[k] = Math.max(maxLength[k], extendedEnd - start);
+    }
+
+    @Override
+    void release(int room, int start, int end) {
+        int k = classes.classOf(room);
+        int extendedEnd = end + turnoverMinutes();
+        int n = size[k];
+        for (int i = lowerBound(k, start); i < n && starts[k][i] == start; i++) {
+            if (ends[k][i] != extendedEnd) continue;
+            System.arraycopy(starts[k], i + 1, starts[k], i, n - i - 1);
+            System.arraycopy(ends[k], i + 1, ends[k], i, n - i - 1);
+            size[k] = n - 1;
+            return;
+        }
+    }
+
+    /**
+     * Rooms of the class not in use at any moment of [start, end + turnover).
+     */
+    private int freeCount(int k, int start, int end) {
+        int windowEnd = end + turnoverMinutes();
+        int from = lowerBound(k, start - maxLength[k]);
+        int to = lowerBound(k, windowEnd);
+
+        // Maximum overlap of the bookings clipped to the window, by sweeping sorted clipped starts and ends.
+        int[] in = new int[to - from];
+        int[] out = new int[to - from];
+        int m = 0;
+        for (int i = from; i < to; i++) {
+            if (ends[k][i] <= start) continue;
+            in[m] = Math.max(starts[k][i], start);
+            out[m] = Math.min(ends[k][i], windowEnd);
+            m++;
+        }
+        if (m == 0) return classes.members(k).length;
+
+        Arrays.sort(in, 0, m);
+        Arrays.sort(out, 0, m);
+        int busy = 0;
+        int peak = 0;
+        for (int i = 0, j = 0; i < m; i++) {
+            while (out[j] <= in[i]) {
+                j++;
+                busy--;
+            }
+            busy++;
+            peak = Math.max(peak, busy);
+        }
+        return Math.max(0, classes.members(k).length - peak);
+    }
+
+    private int lowerBound(int k, int t) {
+        int[] s = starts[k];
+        int lo = 0;
+        int hi = size[k];
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (s[mid] < t) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.se302;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Classrooms grouped into interchangeable classes: same capacity and same room-specific rule. While
+ * {@link SchedulingOptions#isRoomEquivalenceClasses()} is on, the search only decides how many rooms of each
+ * class a session takes ({@link RoomClassTimeline}); {@link #assignRooms(ScheduleState)} picks the concrete rooms
+ * once all sessions are placed.
+ */
+final class RoomClasses {
+
+    private final int[] classOf;
+    private final int[][] members;
+
+    private RoomClasses(int[] classOf, int[][] members) {
+        this.classOf = classOf;
+        this.members = members;
+    }
+
+    static RoomClasses of(ProblemModel model, Constraints constraints) {
+        Map<String, String> rules = constraints.getRoomSpecificRules();
+        Map<List<Object>, Integer> ids = new HashMap<>();
+        List<List<Integer>> groups = new ArrayList<>();
+        int[] classOf = new int[model.roomCount()];
+        for (int r = 0; r < model.roomCount(); r++) {
+            String rule = rules.get(model.room(r).getClassroomId());
+            List<Object> key = Arrays.asList(model.roomCapacity(r), Objects.toString(rule, ""));
+            Integer id = ids.get(key);
+            if (id == null) {
+                id = groups.size();
+                ids.put(key, id);
+                groups.add(new ArrayList<>());
+            }
+            classOf[r] = id;
+            groups.get(id).add(r);
+        }
+
+        int[][] members = new int[groups.size()][];
+        for (int k = 0; k < members.length; k++) {
+            members[k] = groups.get(k).stream().mapToInt(Integer::intValue).toArray();
+        }
+        return new RoomClasses(classOf, members);
+    }
+
+    int classCount() {
+        return members.length;
+    }
+
+    int classOf(int room) {
+        return classOf[room];
+    }
+
+    /**
+     * Rooms of the class in id order. Must not be modified.
+     */
+    int[] members(int roomClass) {
+        return members[roomClass];
+    }
+
+    /**
+     * Replaces the placeholder rooms of every placed course by concrete rooms of the same class. Sessions are
+     * taken in start order and each gets the lowest-id rooms free at its start (with turnover); since no class
+     * is ever booked beyond its size at any moment, this always succeeds.
+     */
+    void assignRooms(ScheduleState state) {
+        int n = state.placedCount();
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) order[i] = state.placedCourse(i);
+        Arrays.sort(order, (a, b) -> a.intValue() == b.intValue() ? 0
+                : state.startOf(a) != state.startOf(b) ? Integer.compare(state.startOf(a), state.startOf(b))
+                : Integer.compare(a, b));
+
+        int turnover = state.roomTimeline().turnoverMinutes();
+        int[] busyUntil = new int[classOf.length];
+        Arrays.fill(busyUntil, Integer.MIN_VALUE);
+        for (int c : order) {
+            int start = state.startOf(c);
+            int[] placeholders = state.roomsOf(c);
+            int[] concrete = new int[placeholders.length];
+            for (int i = 0; i < placeholders.length; i++) {
+                concrete[i] = -1;
+                for (int r : members[classOf[placeholders[i]]]) {
+                    if (busyUntil[r] > start) continue;
+                    concrete[i] = r;
+                    busyUntil[r] = state.endOf(c) + turnover;
+                    break;
+                }
+                if (concrete[i] < 0) {
+                    throw new IllegalStateException("No free room left for course: " + state.model().courseCode(c));
+                }
+            }
+            state.setRooms(c, concrete);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package org.example.se302;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Best-fit room selection for {@link RoomPacking#BEST_FIT}. Among the free rooms it picks a set that seats
+ * the whole enrollment using the fewest rooms and, among those, the fewest empty seats. A best-fit-decreasing
+ * pass gives the starting solution; a depth-first subset search with a node budget then tries to improve it.
+ *
+ * <p>The choice only depends on the enrollment size and the free rooms, so results are cached by both.
+ */
+final class RoomPacker {
+
+    private static final int SEARCH_NODE_BUDGET = 20_000;
+    private static final int MAX_CACHE_ENTRIES = 1 << 14;
+    // Cached marker for "does not fit" (ConcurrentHashMap cannot hold null).
+    private static final SchedulingEngine.RoomAllocation NONE =
+            new SchedulingEngine.RoomAllocation(new int[0], new int[0]);
+
+    private final ProblemModel model;
+    private final ConcurrentHashMap<Key, SchedulingEngine.RoomAllocation> cache = new ConcurrentHashMap<>();
+
+    RoomPacker(ProblemModel model) {
+        this.model = model;
+    }
+
+    /**
+     * Allocation for the given number of students over the free rooms (in id order), or null when
+     * they cannot all be seated.
+     */
+    SchedulingEngine.RoomAllocation pack(int students, int[] freeRooms) {
+        Key key = new Key(students, freeRooms);
+        SchedulingEngine.RoomAllocation cached = cache.get(key);
+        if (cached != null) return cached == NONE ? null : cached;
+
+        SchedulingEngine.RoomAllocation allocation = search(students, freeRooms);
+        if (cache.size() >= MAX_CACHE_ENTRIES) cache.clear();
+        cache.put(key, allocation == null ? NONE : allocation);
+        return allocation;
+    }
+
+    private SchedulingEngine.RoomAllocation search(int students, int[] freeRooms) {
+        // Usable rooms by capacity, largest first (ties keep id order).
+        int n = 0;
+        Integer[] order = new Integer[freeRooms.length];
+        for (int r : freeRooms) {
+            if (model.roomCapacity(r) > 0) order[n++] = r;
+        }
+        order = Arrays.copyOf(order, n);
+        Arrays.sort(order, (a, b) -> Integer.compare(model.roomCapacity(b), model.roomCapacity(a)));
+
+        int[] rooms = new int[n];
+        int[] caps = new int[n];
+        long[] suffix = new long[n + 1];
+        for (int i = 0; i < n; i++) {
+            rooms[i] = order[i];
+            caps[i] = model.roomCapacity(rooms[i]);
+        }
+        for (int i = n - 1; i >= 0; i--) suffix[i] = suffix[i + 1] + caps[i];
+        if (suffix[0] < students) return null;
+
+        Search s = new Search(caps, suffix, students);
+        s.seedBestFitDecreasing();
+        s.dfs(0, students, 0, 0);
+
+        int[] chosen = new int[s.bestCount];
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            if (s.best[i]) chosen[k++] = rooms[i];
+        }
+        Arrays.sort(chosen);
+
+        // Students are split in room id order; only the last room can have empty seats.
+        int[] seats = new int[chosen.length];
+        int remaining = students;
+        for (int i = 0; i < chosen.length; i++) {
+            seats[i] = Math.min(model.roomCapacity(chosen[i]), remaining);
+            remaining -= seats[i];
+        }
+        return new SchedulingEngine.RoomAllocation(chosen, seats);
+    }
+
+    private static final class Search {
+        private final int[] caps;
+        private final long[] suffix;
+        private final int students;
+        private final boolean[] current;
+
+        private boolean[] best;
+        private int bestCount = Integer.MAX_VALUE;
+        private long bestWaste = Long.MAX_VALUE;
+        private int nodes;
+
+        Search(int[] caps, long[] suffix, int students) {
+            this.caps = caps;
+            this.suffix = suffix;
+            this.students = students;
+            this.current = new boolean[caps.length];
+        }
+
+        /**
+         * Takes the smallest room that seats everyone left, otherwise the largest room, until all are seated.
+         */
+        void seedBestFitDecreasing() {
+            boolean[] used = new boolean[caps.length];
+            int remaining = students;
+            int count = 0;
+            long seats = 0;
+            while (remaining > 0) {
+                int pick = -1;
+                for (int i = caps.length - 1; i >= 0; i--) {
+                    if (!used[i] && caps[i] >= remaining) {
+                        pick = i;
+                        break;
+                    }
+                }
+                if (pick < 0) {
+                    for (int i = 0; i < caps.length; i++) {
+                        if (!used[i]) {
+                            pick = i;
+                            break;
+                        }
+                    }
+                }
+                used[pick] = true;
+                count++;
+                seats += caps[pick];
+                remaining -= caps[pick];
+            }
+            best = used;
+            bestCount = count;
+            bestWaste = seats - students;
+        }
+
+        void dfs(int i, int remaining, int count, long seats) {
+            if (remaining <= 0) {
+                long waste = seats - students;
+                if (count < bestCount || (count == bestCount && waste < bestWaste)) {
+                    best = current.clone();
+                    bestCount = count;
+                    bestWaste = waste;
+                }
+                return;
+            }
+            if (i == caps.length || ++nodes > SEARCH_NODE_BUDGET) return;
+            if (suffix[i] < remaining) return;
+            // Rooms are sorted largest first, so at least ceil(remaining / caps[i]) more are needed.
+            int minMore = (remaining + caps[i] - 1) / caps[i];
+            if (count + minMore > bestCount) return;
+
+            current[i] = true;
+            dfs(i + 1, remaining - caps[i], count + 1, seats + caps[i]);
+            current[i] = false;
+            dfs(i + 1, remaining, count, seats);
+        }
+    }
+
+    private static final class Key {
+        private final int students;
+        private final int[] rooms;
+        private final int hash;
+
+        Key(int students, int[] rooms) {
+            this.students = students;
+            this.rooms = rooms;
+            this.hash = 31 * students + Arrays.hashCode(rooms);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key that)) return false;
+            return students == that.students && Arrays.equals(rooms, that.rooms);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
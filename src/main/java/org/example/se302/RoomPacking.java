@@ -0,0 +1,8 @@
+package org.example.se302;
+
+public enum RoomPacking {
+    /** Rooms are filled in block/room-number order, each taking as many students as it seats. */
+    IN_ORDER,
+    /** Fewest rooms first, then fewest empty seats, chosen among the free rooms by a bounded exact search. */
+    BEST_FIT
+}
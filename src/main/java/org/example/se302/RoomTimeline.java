@@ -0,0 +1,99 @@
+package org.example.se302;
+
+import java.util.Arrays;
+
+/**
+ * Per-room occupancy: for every room the booked [start, end) minute intervals, sorted by start in
+ * growable int arrays. Sessions in one room never overlap (including the turnover buffer), so the only
+ * interval that can clash with a query window is the last one starting before the window ends.
+ */
+class RoomTimeline {
+
+    private final int[][] starts;
+    private final int[][] ends;
+    private final int[] size;
+    private final int turnoverMinutes;
+
+    RoomTimeline(int roomCount, int turnoverMinutes) {
+        this.starts = new int[roomCount][4];
+        this.ends = new int[roomCount][4];
+        this.size = new int[roomCount];
+        this.turnoverMinutes = Math.max(0, turnoverMinutes);
+    }
+
+    int turnoverMinutes() {
+        return turnoverMinutes;
+    }
+
+    /**
+     * True when the room has no session in [start, end + turnover) and no earlier session whose
+     * turnover buffer reaches past start.
+     */
+    boolean isFree(int room, int start, int end) {
+        int before = lowerBound(room, end + turnoverMinutes) - 1;
+        return before < 0 || ends[room][before] + turnoverMinutes <= start;
+    }
+
+    /**
+     * Free rooms for the window, in room id order.
+     */
+    int[] freeRooms(int start, int end) {
+        int[] free = new int[size.length];
+        int n = 0;
+        for (int r = 0; r < size.length; r++) {
+            if (isFree(r, start, end)) free[n++] = r;
+        }
+        return Arrays.copyOf(free, n);
+    }
+
+    /**
+     * Books every room for [start, end) if all of them are free, otherwise none.
+     */
+    boolean tryOccupy(int[] rooms, int start, int end) {
+        for (int r : rooms) {
+            if (!isFree(r, start, end)) return false;
+        }
+        for (int r : rooms) {
+            occupy(r, start, end);
+        }
+        return true;
+    }
+
+    void occupy(int room, int start, int end) {
+        int n = size[room];
+        if (n == starts[room].length) {
+            starts[room] = Arrays.copyOf(starts[room], n * 2);
+            ends[room] = Arrays.copyOf(ends[room], n * 2);
+        }
+        int i = lowerBound(room, start);
+        System.arraycopy(starts[room], i, starts[room], i + 1, n - i);
+        System.arraycopy(ends[room], i, ends[room], i + 1, n - i);
+        starts[room][i] = start;
+        ends[room][i] = end;
+        size[room] = n + 1;
+    }
+
+    void release(int room, int start, int end) {
+        int n = size[room];
+        int i = lowerBound(room, start);
+        if (i == n || starts[room][i] != start) return;
+        System.arraycopy(starts[room], i + 1, starts[room], i, n - i - 1);
+        System.arraycopy(ends[room], i + 1, ends[room], i, n - i - 1);
+        size[room] = n - 1;
+    }
+
+    /**
+     * Index of the first booking of the room starting at or after t.
+     */
+    private int lowerBound(int room, int t) {
+        int[] s = starts[room];
+        int lo = 0;
+        int hi = size[room];
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (s[mid] < t) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,118 @@
+package org.example.se302;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-run stop conditions and counters read by {@link ScheduleJob}. The engine updates it from the search
+ * thread (and the fork/join workers when candidates are evaluated in parallel); readers see eventually
+ * consistent values.
+ */
+final class RunMonitor {
+
+    /** Never stops on its own (only on thread interruption) and ignores every update, so runs can share it. */
+    static final RunMonitor NONE = new RunMonitor(null, Long.MAX_VALUE, false);
+
+    private final CancellationToken token;
+    private final long deadlineNanos;
+    private final long startNanos;
+    private final boolean counting;
+    private volatile boolean stopped;
+
+    private final LongAdder candidatesEvaluated;
+    private final AtomicInteger coursesPlaced = new AtomicInteger();
+    private volatile int coursesTotal;
+    private volatile double bestScore = Double.NaN;
+
+    // Set on monitors of a part of the run; placement counts are forwarded to the parent as differences.
+    private final RunMonitor parent;
+    private int reportedPlaced;
+
+    /**
+     * @param deadlineNanos System.nanoTime() value after which the run should stop, or Long.MAX_VALUE
+     */
+    RunMonitor(CancellationToken token, long deadlineNanos) {
+        this(token, deadlineNanos, true);
+    }
+
+    private RunMonitor(CancellationToken token, long deadlineNanos, boolean counting) {
+        this.token = token;
+        this.deadlineNanos = deadlineNanos;
+        this.startNanos = System.nanoTime();
+        this.counting = counting;
+        this.candidatesEvaluated = new LongAdder();
+        this.parent = null;
+    }
+
+    private RunMonitor(RunMonitor parent) {
+        this.token = parent.token;
+        this.deadlineNanos = parent.deadlineNanos;
+        this.startNanos = parent.startNanos;
+        this.counting = parent.counting;
+        this.candidatesEvaluated = parent.candidatesEvaluated;
+        this.parent = parent;
+    }
+
+    /**
+     * Monitor for one of several concurrently scheduled parts of this run: same stop conditions, plus
+     * {@link #stop()} on this monitor or its parents, and its placement and candidate counts add up in the
+     * run's monitor. Each part must be updated from one thread.
+     */
+    RunMonitor part() {
+        return new RunMonitor(this);
+    }
+
+    /**
+     * Makes this monitor and every part below it report cancellation, e.g. once a sibling part has failed.
+     */
+    void stop() {
+        if (this != NONE) stopped = true;
+    }
+
+    boolean isCancelled() {
+        for (RunMonitor m = this; m != null; m = m.parent) {
+            if (m.stopped) return true;
+        }
+        return (token != null && token.isCancelled()) || Thread.currentThread().isInterrupted();
+    }
+
+    boolean isPastDeadline() {
+        return deadlineNanos != Long.MAX_VALUE && System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    boolean shouldStop() {
+        return isCancelled() || isPastDeadline();
+    }
+
+    void candidateEvaluated() {
+        if (counting) candidatesEvaluated.increment();
+    }
+
+    void coursesPlaced(int placed) {
+        if (!counting) return;
+        if (parent == null) {
+            coursesPlaced.set(placed);
+            return;
+        }
+        parent.addPlaced(placed - reportedPlaced);
+        reportedPlaced = placed;
+    }
+
+    private void addPlaced(int delta) {
+        if (parent == null) coursesPlaced.addAndGet(delta);
+        else parent.addPlaced(delta);
+    }
+
+    void coursesTotal(int total) {
+        if (counting) this.coursesTotal = total;
+    }
+
+    void bestScore(double score) {
+        if (counting) this.bestScore = score;
+    }
+
+    ScheduleProgress snapshot(boolean finished) {
+        return new ScheduleProgress(coursesPlaced.get(), coursesTotal, candidatesEvaluated.sum(), bestScore,
+                (System.nanoTime() - startNanos) / 1_000_000L, finished);
+    }
+}
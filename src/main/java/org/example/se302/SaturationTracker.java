@@ -0,0 +1,133 @@
+package org.example.se302;
+
+/**
+ * DSatur bookkeeping: for every course still to be placed, a bitset of candidate slots already ruled out
+ * by placed neighbors (student overlap, min gap, or a shared student reaching maxExamsPerDay) and the
+ * number of slots left. Only the neighbors of a newly placed course are touched.
+ * Room availability is deliberately not tracked; it is checked when the course is actually placed.
+ */
+final class SaturationTracker {
+
+    private final ScheduleState state;
+    private final CandidateSlots[] slots;
+    private final int[] durations;
+    private final int minGap;
+    private final int maxPerDay;
+
+    private final boolean[] pending;
+    private final long[][] blocked;
+    private final int[] feasible;
+    private int pendingCount;
+
+    SaturationTracker(ScheduleState state,
+                      int[] courses,
+                      CandidateSlots[] slots,
+                      int[] durations,
+                      int minGap,
+                      int maxPerDay) {
+        this.state = state;
+        this.slots = slots;
+        this.durations = durations;
+        this.minGap = minGap;
+        this.maxPerDay = maxPerDay;
+
+        int n = state.model().courseCount();
+        this.pending = new boolean[n];
+        this.blocked = new long[n][];
+        this.feasible = new int[n];
+        for (int c : courses) {
+            pending[c] = true;
+            blocked[c] = new long[ConflictGraph.words(slots[c].size())];
+            feasible[c] = slots[c].size();
+        }
+        this.pendingCount = courses.length;
+
+        // Courses placed before the tracker exists (pinned sessions) already restrict their neighbors.
+        for (int i = 0; i < state.placedCount(); i++) {
+            blockNeighbors(state.placedCourse(i));
+        }
+    }
+
+    /**
+     * Slots of the course known to be infeasible. Must not be modified.
+     */
+    long[] blockedSlots(int course) {
+        return blocked[course];
+    }
+
+    int feasibleSlots(int course) {
+        return feasible[course];
+    }
+
+    /**
+     * Most constrained pending course: fewest feasible slots, then highest conflict degree, then largest
+     * enrollment, then course code. Returns -1 when every course has been placed.
+     */
+    int next() {
+        if (pendingCount == 0) return -1;
+
+        ProblemModel model = state.model();
+        ConflictGraph graph = state.graph();
+        int best = -1;
+        for (int c = 0; c < pending.length; c++) {
+            if (!pending[c]) continue;
+            if (best < 0) {
+                best = c;
+                continue;
+            }
+
+            int cmp = Integer.compare(feasible[c], feasible[best]);
+            if (cmp == 0) cmp = Integer.compare(graph.degree(best), graph.degree(c));
+            if (cmp == 0) cmp = Integer.compare(model.enrollmentSize(best), model.enrollmentSize(c));
+            if (cmp == 0) cmp = model.courseCode(c).compareTo(model.courseCode(best));
+            if (cmp < 0) best = c;
+        }
+        return best;
+    }
+
+    void onPlaced(int course) {
+        if (!pending[course]) return;
+        pending[course] = false;
+        pendingCount--;
+        blockNeighbors(course);
+    }
+
+    private void blockNeighbors(int course) {
+        int start = state.startOf(course);
+        int windowStart = start - minGap;
+        int windowEnd = state.endOf(course) + minGap;
+
+        // Neighbors may not start anywhere their exam would overlap or come closer than minGap.
+        for (int n : state.graph().neighbors(course)) {
+            if (!pending[n]) continue;
+
+            int dn = durations[n];
+            CandidateSlots cs = slots[n];
+            int from = cs.firstSlotOfDay(ScheduleState.dayOf(windowStart - dn));
+            int to = cs.firstSlotOfDay(ScheduleState.dayOf(windowEnd) + 1);
+            for (int i = from; i < to; i++) {
+                int t = cs.start(i);
+                if (t < windowEnd && t + dn > windowStart) block(n, i);
+            }
+        }
+
+        // Students who just hit maxExamsPerDay rule out that whole day for all their other courses.
+        int day = ScheduleState.dayOf(start);
+        for (int s : state.model().enrollment(course)) {
+            if (state.studentIndex().examsOnDay(s, day) < maxPerDay) continue;
+            for (int n : state.model().coursesOf(s)) {
+                if (!pending[n]) continue;
+                CandidateSlots cs = slots[n];
+                for (int i = cs.firstSlotOfDay(day), to = cs.firstSlotOfDay(day + 1); i < to; i++) {
+                    block(n, i);
+                }
+            }
+        }
+    }
+
+    private void block(int course, int slot) {
+        if (ConflictGraph.get(blocked[course], slot)) return;
+        ConflictGraph.set(blocked[course], slot);
+        feasible[course]--;
+    }
+}
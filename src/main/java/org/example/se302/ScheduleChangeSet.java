@@ -0,0 +1,177 @@
+package org.example.se302;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Enrollment, course and classroom changes made after a schedule was published, as consumed by
+ * {@link IncrementalRescheduler}. The rescheduler expects the course and classroom lists it is given to
+ * already reflect these changes; {@link #applyTo(List, List)} performs them on such lists.
+ */
+public class ScheduleChangeSet {
+
+    private final List<Course> addedCourses;
+    private final List<Course> removedCourses;
+    private final List<Enrollment> addedEnrollments;
+    private final List<Enrollment> removedEnrollments;
+    private final List<Classroom> addedClassrooms;
+    private final List<Classroom> removedClassrooms;
+
+    public ScheduleChangeSet() {
+        this.addedCourses = new ArrayList<>();
+        this.removedCourses = new ArrayList<>();
+        this.addedEnrollments = new ArrayList<>();
+        this.removedEnrollments = new ArrayList<>();
+        this.addedClassrooms = new ArrayList<>();
+        this.removedClassrooms = new ArrayList<>();
+    }
+
+    public List<Course> getAddedCourses() {
+        return Collections.unmodifiableList(addedCourses);
+    }
+
+    public void addCourse(Course course) {
+        if (course == null) {
+            throw new IllegalArgumentException("course cannot be null");
+        }
+        addedCourses.add(course);
+    }
+
+    public List<Course> getRemovedCourses() {
+        return Collections.unmodifiableList(removedCourses);
+    }
+
+    public void removeCourse(Course course) {
+        if (course == null) {
+            throw new IllegalArgumentException("course cannot be null");
+        }
+        removedCourses.add(course);
+    }
+
+    public List<Enrollment> getAddedEnrollments() {
+        return Collections.unmodifiableList(addedEnrollments);
+    }
+
+    public void addEnrollment(Student student, Course course) {
+        addedEnrollments.add(new Enrollment(student, course));
+    }
+
+    public List<Enrollment> getRemovedEnrollments() {
+        return Collections.unmodifiableList(removedEnrollments);
+    }
+
+    public void removeEnrollment(Student student, Course course) {
+        removedEnrollments.add(new Enrollment(student, course));
+    }
+
+    public List<Classroom> getAddedClassrooms() {
+        return Collections.unmodifiableList(addedClassrooms);
+    }
+
+    public void addClassroom(Classroom classroom) {
+        if (classroom == null) {
+            throw new IllegalArgumentException("classroom cannot be null");
+        }
+        addedClassrooms.add(classroom);
+    }
+
+    public List<Classroom> getRemovedClassrooms() {
+        return Collections.unmodifiableList(removedClassrooms);
+    }
+
+    public void removeClassroom(Classroom classroom) {
+        if (classroom == null) {
+            throw new IllegalArgumentException("classroom cannot be null");
+        }
+        removedClassrooms.add(classroom);
+    }
+
+    public boolean isEmpty() {
+        return addedCourses.isEmpty()
+                && removedCourses.isEmpty()
+                && addedEnrollments.isEmpty()
+                && removedEnrollments.isEmpty()
+                && addedClassrooms.isEmpty()
+                && removedClassrooms.isEmpty();
+    }
+
+    /**
+     * Applies the changes to the given lists and to the enrollment lists of the courses involved.
+     */
+    public void applyTo(List<Course> courses, List<Classroom> classrooms) {
+        if (courses == null || classrooms == null) {
+            throw new IllegalArgumentException("courses/classrooms cannot be null");
+        }
+
+        courses.removeAll(removedCourses);
+        for (Course c : addedCourses) {
+            if (!courses.contains(c)) courses.add(c);
+        }
+        for (Enrollment e : removedEnrollments) {
+            e.getCourse().removeStudent(e.getStudent());
+        }
+        for (Enrollment e : addedEnrollments) {
+            e.getCourse().addStudent(e.getStudent());
+        }
+
+        classrooms.removeAll(removedClassrooms);
+        for (Classroom r : addedClassrooms) {
+            if (!classrooms.contains(r)) classrooms.add(r);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ScheduleChangeSet{" +
+                "addedCourses=" + addedCourses.size() +
+                ", removedCourses=" + removedCourses.size() +
+                ", addedEnrollments=" + addedEnrollments.size() +
+                ", removedEnrollments=" + removedEnrollments.size() +
+                ", addedClassrooms=" + addedClassrooms.size() +
+                ", removedClassrooms=" + removedClassrooms.size() +
+                '}';
+    }
+
+    public static class Enrollment {
+        private final Student student;
+        private final Course course;
+
+        public Enrollment(Student student, Course course) {
+            if (student == null || course == null) {
+                throw new IllegalArgumentException("student/course cannot be null");
+            }
+            this.student = student;
+            this.course = course;
+        }
+
+        public Student getStudent() {
+            return student;
+        }
+
+        public Course getCourse() {
+            return course;
+        }
+
+        @Override
+        public String toString() {
+            return "Enrollment{" +
+                    "student=" + student.getStudentId() +
+                    ", course=" + course.getCourseCode() +
+                    '}';
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Enrollment that)) return false;
+            return Objects.equals(student, that.student) && Objects.equals(course, that.course);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(student, course);
+        }
+    }
+}
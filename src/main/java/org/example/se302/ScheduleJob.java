@@ -0,0 +1,219 @@
+package org.example.se302;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs {@link SchedulingEngine#generateSchedule} in the background with a wall-clock deadline, cooperative
+ * cancellation and periodic progress events.
+ *
+ * <p>The returned future completes with the schedule, or
+ * <ul>
+ *     <li>is cancelled when the token (or the future itself) is cancelled;</li>
+ *     <li>fails with a {@link TimeoutException} when the deadline passes before every course is placed;</li>
+ *     <li>fails with the executor's exception when the executor refuses the job.</li>
+ * </ul>
+ * A token may be shared between jobs to cancel them together; cancelling one job's future stops only that job.
+ * A deadline that passes during the local-search phase only ends that phase, so the best schedule found so
+ * far is returned.
+ */
+public class ScheduleJob {
+
+    private final SchedulingEngine engine;
+    private Instant deadline;
+    private CancellationToken cancellationToken;
+    private ScheduleProgressListener progressListener;
+    private long progressIntervalMillis;
+    private ScheduleScore score;
+    private Executor executor;
+
+    public ScheduleJob() {
+        this(new SchedulingEngine());
+    }
+
+    public ScheduleJob(SchedulingEngine engine) {
+        if (engine == null) {
+            throw new IllegalArgumentException("engine cannot be null");
+        }
+        this.engine = engine;
+        this.deadline = null;
+        this.cancellationToken = new CancellationToken();
+        this.progressListener = null;
+        this.progressIntervalMillis = 500;
+        this.score = ScheduleScore.daysUsed();
+        this.executor = null;
+    }
+
+    public SchedulingEngine getEngine() {
+        return engine;
+    }
+
+    public Instant getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Wall-clock time by which the job must finish; null means no deadline.
+     */
+    public void setDeadline(Instant deadline) {
+        this.deadline = deadline;
+    }
+
+    public CancellationToken getCancellationToken() {
+        return cancellationToken;
+    }
+
+    public void setCancellationToken(CancellationToken cancellationToken) {
+        if (cancellationToken == null) {
+            throw new IllegalArgumentException("cancellationToken cannot be null");
+        }
+        this.cancellationToken = cancellationToken;
+    }
+
+    public ScheduleProgressListener getProgressListener() {
+        return progressListener;
+    }
+
+    public void setProgressListener(ScheduleProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    public long getProgressIntervalMillis() {
+        return progressIntervalMillis;
+    }
+
+    public void setProgressIntervalMillis(long progressIntervalMillis) {
+        if (progressIntervalMillis < 1) {
+            throw new IllegalArgumentException("progressIntervalMillis must be at least 1");
+        }
+        this.progressIntervalMillis = progressIntervalMillis;
+    }
+
+    /**
+     * Score reported for the finished schedule in the last progress event.
+     */
+    public ScheduleScore getScore() {
+        return score;
+    }
+
+    public void setScore(ScheduleScore score) {
+        if (score == null) {
+            throw new IllegalArgumentException("score cannot be null");
+        }
+        this.score = score;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Executor the job runs on; null (the default) starts a dedicated daemon thread.
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    public CompletableFuture<Calendar> start(List<Course> courses, List<Classroom> classrooms, Constraints constraints) {
+        CancellationToken token = cancellationToken;
+        ScheduleProgressListener listener = progressListener;
+        ScheduleScore scorer = score;
+
+        long deadlineNanos = Long.MAX_VALUE;
+        if (deadline != null) {
+            long remaining = Math.max(0, Duration.between(Instant.now(), deadline).toNanos());
+            deadlineNanos = System.nanoTime() + remaining;
+        }
+        RunMonitor monitor = new RunMonitor(token, deadlineNanos);
+
+        CompletableFuture<Calendar> future = new CompletableFuture<>();
+        future.whenComplete((calendar, error) -> {
+            if (future.isCancelled()) monitor.stop();
+        });
+
+        Progress progress = new Progress(monitor, listener);
+        ScheduledExecutorService ticker = null;
+        if (listener != null) {
+            ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "schedule-job-progress");
+                t.setDaemon(true);
+                return t;
+            });
+            ticker.scheduleAtFixedRate(() -> progress.emit(false), progressIntervalMillis, progressIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+        ScheduledExecutorService progressTicker = ticker;
+
+        Runnable run = () -> {
+            Calendar result = null;
+            Throwable error = null;
+            try {
+                result = engine.generateSchedule(courses, classrooms, constraints, null, monitor);
+                if (monitor.isCancelled()) throw new CancellationException("Schedule generation cancelled");
+                monitor.bestScore(scorer.score(result));
+            } catch (Throwable t) {
+                error = t;
+            } finally {
+                if (progressTicker != null) progressTicker.shutdownNow();
+                progress.emit(true);
+            }
+
+            if (error == null) {
+                future.complete(result);
+            } else if (error instanceof CancellationException && !monitor.isCancelled() && monitor.isPastDeadline()) {
+                future.completeExceptionally(new TimeoutException("Deadline passed before every course was placed"));
+            } else if (error instanceof CancellationException) {
+                future.cancel(false);
+            } else {
+                future.completeExceptionally(error);
+            }
+        };
+
+        try {
+            if (executor != null) {
+                executor.execute(run);
+            } else {
+                Thread t = new Thread(run, "schedule-job");
+                t.setDaemon(true);
+                t.start();
+            }
+        } catch (RuntimeException ex) {
+            // The run never started, so nothing else stops the ticker or completes the future.
+            if (progressTicker != null) progressTicker.shutdownNow();
+            future.completeExceptionally(ex);
+        }
+        return future;
+    }
+
+    /**
+     * Serializes listener calls and drops periodic events once the final one has been sent.
+     */
+    private static final class Progress {
+        private final RunMonitor monitor;
+        private final ScheduleProgressListener listener;
+        private boolean finished;
+
+        Progress(RunMonitor monitor, ScheduleProgressListener listener) {
+            this.monitor = monitor;
+            this.listener = listener;
+        }
+
+        synchronized void emit(boolean last) {
+            if (listener == null || finished) return;
+            finished = last;
+            try {
+                listener.onProgress(monitor.snapshot(last));
+            } catch (RuntimeException ignored) {
+                // A failing listener must not stop the job or its remaining events.
+            }
+        }
+    }
+}
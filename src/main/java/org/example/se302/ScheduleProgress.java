@@ -0,0 +1,68 @@
+package org.example.se302;
+
+/**
+ * Snapshot of a running {@link ScheduleJob}. The best score is the local-search penalty while the improvement
+ * phase runs, the {@link ScheduleScore} of the result in the final event, and NaN before either is known.
+ */
+public class ScheduleProgress {
+
+    private final int coursesPlaced;
+    private final int coursesTotal;
+    private final long candidatesEvaluated;
+    private final double bestScore;
+    private final long elapsedMillis;
+    private final boolean finished;
+
+    public ScheduleProgress(int coursesPlaced,
+                            int coursesTotal,
+                            long candidatesEvaluated,
+                            double bestScore,
+                            long elapsedMillis,
+                            boolean finished) {
+        this.coursesPlaced = coursesPlaced;
+        this.coursesTotal = coursesTotal;
+        this.candidatesEvaluated = candidatesEvaluated;
+        this.bestScore = bestScore;
+        this.elapsedMillis = elapsedMillis;
+        this.finished = finished;
+    }
+
+    public int getCoursesPlaced() {
+        return coursesPlaced;
+    }
+
+    public int getCoursesTotal() {
+        return coursesTotal;
+    }
+
+    public long getCandidatesEvaluated() {
+        return candidatesEvaluated;
+    }
+
+    public double getBestScore() {
+        return bestScore;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * True for the last event of a job, sent whether it completed, failed or was cancelled.
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    @Override
+    public String toString() {
+        return "ScheduleProgress{" +
+                "coursesPlaced=" + coursesPlaced +
+                ", coursesTotal=" + coursesTotal +
+                ", candidatesEvaluated=" + candidatesEvaluated +
+                ", bestScore=" + bestScore +
+                ", elapsedMillis=" + elapsedMillis +
+                ", finished=" + finished +
+                '}';
+    }
+}
@@ -0,0 +1,10 @@
+package org.example.se302;
+
+@FunctionalInterface
+public interface ScheduleProgressListener {
+
+    /**
+     * Called from the job's threads, never concurrently for the same job; the last event has finished set.
+     */
+    void onProgress(ScheduleProgress progress);
+}
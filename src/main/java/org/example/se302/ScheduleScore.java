@@ -0,0 +1,37 @@
+package org.example.se302;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Ranks complete schedules; lower scores are better.
+ */
+@FunctionalInterface
+public interface ScheduleScore {
+
+    double score(Calendar calendar);
+
+    /**
+     * Fewest distinct exam days first, then the shortest span from the first exam start to the last exam end.
+     */
+    static ScheduleScore daysUsed() {
+        return calendar -> {
+            Set<LocalDate> days = new HashSet<>();
+            LocalDateTime first = null;
+            LocalDateTime last = null;
+            for (ExamSession s : calendar.getExamSessions()) {
+                LocalDateTime start = s.getStartDateTime();
+                if (start == null) continue;
+                LocalDateTime end = start.plusMinutes(s.getDurationMinutes());
+                days.add(start.toLocalDate());
+                if (first == null || start.isBefore(first)) first = start;
+                if (last == null || end.isAfter(last)) last = end;
+            }
+            long span = (first == null) ? 0 : Duration.between(first, last).toMinutes();
+            return days.size() * 1_000_000.0 + span;
+        };
+    }
+}
@@ -0,0 +1,319 @@
+package org.example.se302;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Mutable placement state of one scheduling run, expressed purely in {@link ProblemModel} ids.
+ * Times are int minutes from 00:00 on the first day of the exam period; ExamSession/ExamRoomAssignment
+ * objects (and LocalDateTime values) are only created by {@link #toCalendar()}.
+ */
+final class ScheduleState {
+
+    static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final ProblemModel model;
+    private final ConflictGraph graph;
+    private final RoomTimeline roomTimeline;
+    private final StudentExamIndex studentIndex;
+    private final RoomPacker roomPacker;
+    private final RunMonitor monitor;
+    private final LocalDateTime periodStart;
+
+    private final int[] start;
+    private final int[] duration;
+    private final int[][] rooms;
+    private final int[][] seats;
+
+    private int[] placementOrder;
+    private int placedCount;
+    private int pinnedCount;
+
+    // Pinned courses and the sessions they were loaded from; toCalendar() returns those sessions as given.
+    private final long[] pinned;
+    private final ExamSession[] pinnedSessions;
+
+    // Placed courses as a bitset, overall and per day of the exam period (rows allocated on first use).
+    private final long[] placed;
+    private final long[][] placedOnDay;
+    private int maxPlacedDuration;
+
+    ScheduleState(ProblemModel model, ConflictGraph graph, LocalDate firstDay, int days, int roomTurnoverMinutes) {
+        this(model, graph, firstDay, days, roomTurnoverMinutes, RunMonitor.NONE);
+    }
+
+    ScheduleState(ProblemModel model,
+                  ConflictGraph graph,
+                  LocalDate firstDay,
+                  int days,
+                  int roomTurnoverMinutes,
+                  RunMonitor monitor) {
+        this(model, graph, firstDay, days, new RoomTimeline(model.roomCount(), roomTurnoverMinutes), monitor);
+    }
+
+    /**
+     * State booking rooms in the given timeline, which may be shared with states for other courses.
+     */
+    ScheduleState(ProblemModel model,
+                  ConflictGraph graph,
+                  LocalDate firstDay,
+                  int days,
+                  RoomTimeline roomTimeline,
+                  RunMonitor monitor) {
+        this.model = model;
+        this.graph = graph;
+        this.roomTimeline = roomTimeline;
+        this.studentIndex = new StudentExamIndex(model);
+        this.roomPacker = new RoomPacker(model);
+        this.monitor = monitor;
+        this.periodStart = firstDay.atStartOfDay();
+        int n = model.courseCount();
+        this.start = new int[n];
+        this.duration = new int[n];
+        this.rooms = new int[n][];
+        this.seats = new int[n][];
+        this.placementOrder = new int[Math.max(4, n)];
+        this.placedCount = 0;
+        this.pinned = new long[ConflictGraph.words(n)];
+        this.pinnedSessions = new ExamSession[n];
+        this.placed = new long[ConflictGraph.words(n)];
+        this.placedOnDay = new long[Math.max(0, days)][];
+        this.maxPlacedDuration = 0;
+    }
+
+    ProblemModel model() {
+        return model;
+    }
+
+    ConflictGraph graph() {
+        return graph;
+    }
+
+    RoomTimeline roomTimeline() {
+        return roomTimeline;
+    }
+
+    StudentExamIndex studentIndex() {
+        return studentIndex;
+    }
+
+    RunMonitor monitor() {
+        return monitor;
+    }
+
+    RoomPacker roomPacker() {
+        return roomPacker;
+    }
+
+    int dayCount() {
+        return placedOnDay.length;
+    }
+
+    /**
+     * Day of the exam period a minute falls on (negative before the period, may exceed dayCount()).
+     */
+    static int dayOf(int minute) {
+        return Math.floorDiv(minute, MINUTES_PER_DAY);
+    }
+
+    int toMinute(LocalDateTime t) {
+        return (int) Duration.between(periodStart, t).toMinutes();
+    }
+
+    LocalDateTime toDateTime(int minute) {
+        return periodStart.plusMinutes(minute);
+    }
+
+    long[] placedCourses() {
+        return placed;
+    }
+
+    /**
+     * Bitset of courses starting on the given day, or null when nothing is placed there yet.
+     */
+    long[] placedOnDay(int day) {
+        return (day < 0 || day >= placedOnDay.length) ? null : placedOnDay[day];
+    }
+
+    int maxPlacedDuration() {
+        return maxPlacedDuration;
+    }
+
+    boolean isPlaced(int course) {
+        return ConflictGraph.get(placed, course);
+    }
+
+    boolean isPinned(int course) {
+        return ConflictGraph.get(pinned, course);
+    }
+
+    ExamSession pinnedSession(int course) {
+        return pinnedSessions[course];
+    }
+
+    int startOf(int course) {
+        return start[course];
+    }
+
+    int endOf(int course) {
+        return start[course] + duration[course];
+    }
+
+    int durationOf(int course) {
+        return duration[course];
+    }
+
+    int[] roomsOf(int course) {
+        return rooms[course];
+    }
+
+    int[] seatsOf(int course) {
+        return seats[course];
+    }
+
+    int placedCount() {
+        return placedCount;
+    }
+
+    /**
+     * Placed course ids in placement order.
+     */
+    int placedCourse(int index) {
+        return placementOrder[index];
+    }
+
+    /**
+     * Number of placed courses that were not pinned, reported to the monitor.
+     */
+    void reportProgress() {
+        monitor.coursesPlaced(placedCount - pinnedCount);
+    }
+
+    void place(int course, int slotStart, int durationMinutes, int[] roomIds, int[] seatCounts) {
+        checkNotPlaced(course);
+        int end = slotStart + durationMinutes;
+        for (int r : roomIds) {
+            roomTimeline.occupy(r, slotStart, end);
+        }
+        record(course, slotStart, durationMinutes, roomIds, seatCounts);
+    }
+
+    /**
+     * Like {@link #place}, but only when all rooms are still free; returns false, changing nothing, otherwise.
+     * Needed when the room timeline is shared and another state may have booked the rooms since they were chosen.
+     */
+    boolean tryPlace(int course, int slotStart, int durationMinutes, int[] roomIds, int[] seatCounts) {
+        checkNotPlaced(course);
+        if (!roomTimeline.tryOccupy(roomIds, slotStart, slotStart + durationMinutes)) return false;
+        record(course, slotStart, durationMinutes, roomIds, seatCounts);
+        return true;
+    }
+
+    private void checkNotPlaced(int course) {
+        if (isPlaced(course)) {
+            throw new IllegalStateException("Course already placed: " + model.courseCode(course));
+        }
+    }
+
+    private void record(int course, int slotStart, int durationMinutes, int[] roomIds, int[] seatCounts) {
+        start[course] = slotStart;
+        duration[course] = durationMinutes;
+        rooms[course] = roomIds;
+        seats[course] = seatCounts;
+
+        if (placedCount == placementOrder.length) {
+            placementOrder = Arrays.copyOf(placementOrder, placedCount * 2);
+        }
+        placementOrder[placedCount++] = course;
+
+        studentIndex.add(course, slotStart, slotStart + durationMinutes);
+
+        ConflictGraph.set(placed, course);
+        int day = dayOf(slotStart);
+        if (day >= 0 && day < placedOnDay.length) {
+            if (placedOnDay[day] == null) placedOnDay[day] = new long[placed.length];
+            ConflictGraph.set(placedOnDay[day], course);
+        }
+        maxPlacedDuration = Math.max(maxPlacedDuration, durationMinutes);
+    }
+
+    /**
+     * Places a session that must not move; {@link #unplace(int)} refuses to remove it.
+     */
+    void pin(int course, int slotStart, int durationMinutes, int[] roomIds, int[] seatCounts, ExamSession session) {
+        place(course, slotStart, durationMinutes, roomIds, seatCounts);
+        ConflictGraph.set(pinned, course);
+        pinnedSessions[course] = session;
+        pinnedCount++;
+    }
+
+    /**
+     * Replaces the rooms of a placed course without touching the room timeline; only for swapping rooms the
+     * timeline treats as interchangeable (see {@link RoomClassTimeline}).
+     */
+    void setRooms(int course, int[] roomIds) {
+        rooms[course] = roomIds;
+    }
+
+    void unplace(int course) {
+        if (!isPlaced(course)) return;
+        if (isPinned(course)) {
+            throw new IllegalStateException("Pinned course cannot be unplaced: " + model.courseCode(course));
+        }
+
+        int slotStart = start[course];
+        for (int r : rooms[course]) {
+            roomTimeline.release(r, slotStart, slotStart + duration[course]);
+        }
+        studentIndex.remove(course, slotStart);
+
+        ConflictGraph.clear(placed, course);
+        int day = dayOf(slotStart);
+        if (day >= 0 && day < placedOnDay.length && placedOnDay[day] != null) {
+            ConflictGraph.clear(placedOnDay[day], course);
+        }
+
+        for (int i = 0; i < placedCount; i++) {
+            if (placementOrder[i] != course) continue;
+            System.arraycopy(placementOrder, i + 1, placementOrder, i, placedCount - i - 1);
+            placedCount--;
+            break;
+        }
+
+        start[course] = 0;
+        duration[course] = 0;
+        rooms[course] = null;
+        seats[course] = null;
+    }
+
+    Calendar toCalendar() {
+        Calendar calendar = new Calendar();
+        for (int i = 0; i < placedCount; i++) {
+            int c = placementOrder[i];
+            calendar.addExamSession(isPinned(c) ? pinnedSessions[c] : toSession(c));
+        }
+        return calendar;
+    }
+
+    ExamSession toSession(int course) {
+        ExamSession session = new ExamSession(model.course(course), toDateTime(start[course]), duration[course]);
+
+        // Students are split over the rooms in enrollment order, each room taking its seat count.
+        int[] enrolled = model.enrollment(course);
+        int offset = 0;
+        for (int i = 0; i < rooms[course].length; i++) {
+            int take = seats[course][i];
+            List<Student> chunk = new ArrayList<>(take);
+            for (int k = offset; k < offset + take; k++) {
+                chunk.add(model.student(enrolled[k]));
+            }
+            offset += take;
+            session.addRoomAssignment(new ExamRoomAssignment(model.room(rooms[course][i]), chunk));
+        }
+        return session;
+    }
+}
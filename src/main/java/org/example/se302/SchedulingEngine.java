@@ -1,290 +1,603 @@
 package org.example.se302;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
-import java.time.DayOfWeek;
-import java.time.Duration;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Exam schedule generator. An engine holds only its options, fixed at construction; every run keeps its state
+ * in objects of its own, so one instance can serve concurrent {@code generateSchedule} calls.
+ */
 public class SchedulingEngine {
 
-    private int currentRoomTurnoverMinutes = 0;
-
-    private int getRoomTurnoverMinutes() {
-        return Math.max(0, currentRoomTurnoverMinutes);
-    }
+    // Copied on construction and never handed out, so runs on several threads can share one engine.
+    private final SchedulingOptions options;
 
     private static final int DEFAULT_DURATION_MIN = 120;
     private static final int MAX_SEARCH_DAYS = 90;
+    private static final int PARALLEL_MIN_SLOTS = 256;
+    private static final int PARALLEL_CHUNK_SLOTS = 32;
+
+    public SchedulingEngine() {
+        this(new SchedulingOptions());
+    }
+
+    public SchedulingEngine(SchedulingOptions options) {
+        this.options = (options == null) ? new SchedulingOptions() : new SchedulingOptions(options);
+    }
 
     public Calendar generateSchedule(List<Course> courses,
                                      List<Classroom> classrooms,
                                      Constraints constraints) {
+        return generateSchedule(courses, classrooms, constraints, null, RunMonitor.NONE);
+    }
+
+    /**
+     * Schedules every course except those with a session in {@code pinned}. Pinned sessions keep their time and
+     * rooms, occupy those rooms and the time of their course's current enrollment, and are part of the returned
+     * calendar. Their courses and classrooms must be among the given ones, and no two of them may overlap in a
+     * room or share a student while overlapping in time.
+     */
+    public Calendar generateSchedule(List<Course> courses,
+                                     List<Classroom> classrooms,
+                                     Constraints constraints,
+                                     Calendar pinned) {
+        return generateSchedule(courses, classrooms, constraints, pinned, RunMonitor.NONE);
+    }
+
+    Calendar generateSchedule(List<Course> courses,
+                              List<Classroom> classrooms,
+                              Constraints constraints,
+                              Calendar pinned,
+                              RunMonitor monitor) {
         if (courses == null || classrooms == null) {
             throw new IllegalArgumentException("courses/classrooms cannot be null");
         }
-        if (constraints == null) {
-            constraints = new Constraints();
+
+        // Entities are resolved to dense ids once; the search below only touches int arrays.
+        ProblemModel model = ProblemModel.compile(courses, classrooms);
+        return generateSchedule(model, ConflictGraph.build(model), constraints, pinned, monitor);
+    }
+
+    /**
+     * Run on an already compiled model and its conflict graph; both are only read, so several runs may share them.
+     */
+    Calendar generateSchedule(ProblemModel model,
+                              ConflictGraph graph,
+                              Constraints constraints,
+                              Calendar pinned,
+                              RunMonitor monitor) {
+        // Everything a run reads or writes is either this snapshot, the run's own ScheduleState and RunMonitor,
+        // the shared read-only model, or the engine's immutable options.
+        constraints = (constraints == null) ? new Constraints() : new Constraints(constraints);
+
+        LocalDate startDate = firstExamDay(constraints);
+        LocalDate endDate = constraints.getExamWeekEndDate();
+        int maxDaysToTry = searchDays(startDate, constraints);
+
+        // Pinned sessions may lie outside the search window; the period is widened to include them.
+        List<ExamSession> pinnedSessions = (pinned == null) ? List.of() : pinned.getExamSessions();
+        LocalDate periodStart = startDate;
+        LocalDate lastPinnedDay = startDate;
+        for (ExamSession s : pinnedSessions) {
+            if (s.getStartDateTime() == null) continue;
+            LocalDate d = s.getStartDateTime().toLocalDate();
+            if (d.isBefore(periodStart)) periodStart = d;
+            if (d.isAfter(lastPinnedDay)) lastPinnedDay = d;
+        }
+        int lead = (int) ChronoUnit.DAYS.between(periodStart, startDate);
+        int days = Math.max(lead + maxDaysToTry, (int) ChronoUnit.DAYS.between(periodStart, lastPinnedDay) + 1);
+
+        // With room classes the search books "a room of this class"; concrete rooms are chosen after the search.
+        // Pinned sessions name concrete rooms, so they keep the search on concrete rooms too.
+        int turnover = Math.max(0, constraints.getRoomTurnoverMinutes());
+        RoomClasses roomClasses = options.isRoomEquivalenceClasses() && pinnedSessions.isEmpty()
+                ? RoomClasses.of(model, constraints)
+                : null;
+        RoomTimeline timeline = (roomClasses == null)
+                ? new RoomTimeline(model.roomCount(), turnover)
+                : new RoomClassTimeline(roomClasses, model.roomCount(), turnover);
+
+        ScheduleState state = new ScheduleState(model, graph, periodStart, days, timeline, monitor);
+        for (ExamSession s : pinnedSessions) {
+            pinSession(state, s);
         }
 
-        List<Course> remaining = new ArrayList<>();
-        for (Course c : courses) {
-            if (c == null) continue;
-            if (extractEnrolledStudents(c).isEmpty()) continue;
+        List<Integer> remaining = new ArrayList<>();
+        for (int c = 0; c < model.courseCount(); c++) {
+            if (model.enrollmentSize(c) == 0 || state.isPinned(c)) continue;
             remaining.add(c);
         }
-
-        // Schedule larger courses first to avoid small courses consuming the earliest slots/rooms.
-        remaining.sort(Comparator
-                .comparingInt((Course c) -> safeSize(extractEnrolledStudents(c)))
-                .reversed()
-                .thenComparing(c -> safeString(courseCodeOf(c))));
-
-        List<Classroom> orderedRooms = new ArrayList<>(classrooms);
-        // Alphabetical by block + room number (e.g., A101, A102 ... M101, M116)
-        orderedRooms.sort(Comparator
-                .comparing((Classroom r) -> roomBlock(r == null ? null : r.getClassroomId()))
-                .thenComparingInt(r -> roomNumber(r == null ? null : r.getClassroomId()))
-                .thenComparing(r -> r == null ? "" : r.getClassroomId()));
-
-        Calendar calendar = new Calendar();
-
-        LocalDate startDate = constraints.getExamWeekStartDate();
-        if (startDate == null) {
-            startDate = LocalDate.now().plusDays(1);
+        monitor.coursesTotal(remaining.size());
+
+        // Candidate slots depend only on the exam duration, so courses of equal length share one list.
+        int[] durations = new int[model.courseCount()];
+        CandidateSlots[] slots = new CandidateSlots[model.courseCount()];
+        Map<Integer, CandidateSlots> slotsByDuration = new HashMap<>();
+        for (int c : remaining) {
+            durations[c] = estimateDurationMinutes(model.credit(c), constraints);
+            CandidateSlots cs = slotsByDuration.get(durations[c]);
+            if (cs == null) {
+                cs = candidateSlots(periodStart, startDate, days, durations[c], constraints);
+                slotsByDuration.put(durations[c], cs);
+            }
+            slots[c] = cs;
         }
 
-        LocalDate endDate = constraints.getExamWeekEndDate();
-        if (endDate != null && endDate.isBefore(startDate)) {
-            throw new IllegalArgumentException("examWeekEndDate cannot be before examWeekStartDate");
+        // Reject provably impossible inputs before spending time on the search, over the days the search covers.
+        FeasibilityReport feasibility = FeasibilityAnalyzer.analyze(model, state.graph(),
+                remaining.stream().mapToInt(Integer::intValue).toArray(), durations, startDate, days - lead,
+                constraints, state);
+        if (!feasibility.isFeasible()) {
+            throw new InfeasibleScheduleException(feasibility);
         }
 
-        this.currentRoomTurnoverMinutes = Math.max(0, constraints.getRoomTurnoverMinutes());
+        int[][] components = options.isComponentDecomposition()
+                ? state.graph().components(scheduledCourses(state, remaining))
+                : null;
+        if (components != null && components.length > 1) {
+            // The components book concrete rooms in a shared timeline.
+            state = solveComponents(state, components, remaining, slots, durations, constraints);
+            roomClasses = null;
+        } else {
+            construct(state, remaining, slots, durations, constraints);
+        }
 
-        int maxDaysToTry = MAX_SEARCH_DAYS;
-        if (endDate != null) {
-            long span = java.time.temporal.ChronoUnit.DAYS.between(startDate, endDate) + 1;
-            if (span <= 0) {
-                throw new IllegalArgumentException("Invalid exam week date range");
+        if (options.getImprovementTimeBudgetMillis() > 0) {
+            // Without a configured end date, the period is whatever the construction already uses.
+            int lastDay = days - 1;
+            if (endDate == null) {
+                lastDay = 0;
+                for (int i = 0; i < state.placedCount(); i++) {
+                    lastDay = Math.max(lastDay, ScheduleState.dayOf(state.startOf(state.placedCourse(i))));
+                }
             }
-            maxDaysToTry = (int) Math.min(span, MAX_SEARCH_DAYS);
+            new LocalSearchImprover(this, state, remaining.stream().mapToInt(Integer::intValue).toArray(),
+                    slots, durations, constraints, lastDay, options.getRandomSeed())
+                    .improve(options.getImprovementTimeBudgetMillis(), options.getImprovementMaxIterations());
         }
 
-        // Course-by-course earliest-fit: each course restarts scanning from the beginning.
-        for (Course c : remaining) {
-            boolean placed = false;
-
-            int duration = estimateDurationMinutes(c, constraints);
-            List<Student> enrolled = extractEnrolledStudents(c);
-            if (enrolled.isEmpty()) continue;
-
-            for (int dayOffset = 0; dayOffset < maxDaysToTry && !placed; dayOffset++) {
-                LocalDate d = startDate.plusDays(dayOffset);
-                if (endDate != null && d.isAfter(endDate)) break;
-                if (!isAllowedDay(d, constraints)) continue;
-
-                for (LocalDateTime slotStart : candidateStartsForDate(d, constraints)) {
-                    if (!fitsTimeRanges(slotStart, duration, constraints)) continue;
-
-                    // Only use rooms that are free at this slot (with turnover buffer)
-                    List<Classroom> available = availableRoomsAt(calendar, orderedRooms, slotStart, duration);
-                    if (available.isEmpty()) continue;
-
-                    ExamSession candidate = buildSession(c, slotStart, duration, enrolled, available);
-                    if (candidate.getRoomAssignments().isEmpty()) continue;
-
-                    if (conflictsWithExisting(calendar, candidate)) continue;
-                    if (violatesStudentConstraints(calendar, candidate, constraints)) continue;
+        if (roomClasses != null) {
+            roomClasses.assignRooms(state);
+        }
+        return state.toCalendar();
+    }
 
-                    calendar.addExamSession(candidate);
-                    placed = true;
+    /**
+     * Places the remaining courses on top of the state with the configured strategy, falling back to
+     * backtracking; throws when a course cannot be placed.
+     */
+    private void construct(ScheduleState state,
+                           List<Integer> remaining,
+                           CandidateSlots[] slots,
+                           int[] durations,
+                           Constraints constraints) {
+        orderCourses(remaining, state.model(), state.graph(), durations);
+
+        if (options.getPlacementStrategy() == PlacementStrategy.SATURATION) {
+            int minGap = Math.max(0, constraints.getMinMinutesBetweenExams());
+            int maxPerDay = Math.max(1, constraints.getMaxExamsPerDay());
+            SaturationTracker tracker = new SaturationTracker(state,
+                    remaining.stream().mapToInt(Integer::intValue).toArray(), slots, durations, minGap, maxPerDay);
+
+            for (int c = tracker.next(); c >= 0; c = tracker.next()) {
+                checkStopped(state.monitor());
+                if (!placeEarliest(state, c, slots[c], durations[c], tracker.blockedSlots(c), constraints)) {
+                    // The tracker cannot follow undone placements, so the rest goes to backtracking in static order.
+                    List<Integer> pending = new ArrayList<>();
+                    pending.add(c);
+                    for (int other : remaining) {
+                        if (other != c && !state.isPlaced(other)) pending.add(other);
+                    }
+                    backtrackOrFail(state, pending, slots, durations, constraints, c);
                     break;
                 }
+                tracker.onPlaced(c);
+                state.reportProgress();
             }
-
-            if (!placed) {
-                throw new IllegalStateException("Could not schedule course: " + safeString(courseCodeOf(c)));
+        } else {
+            // Course-by-course earliest-fit: each course restarts scanning from the beginning.
+            for (int i = 0; i < remaining.size(); i++) {
+                checkStopped(state.monitor());
+                int c = remaining.get(i);
+                if (!placeEarliest(state, c, slots[c], durations[c], null, constraints)) {
+                    backtrackOrFail(state, remaining.subList(i, remaining.size()), slots, durations, constraints, c);
+                    break;
+                }
+                state.reportProgress();
             }
         }
-
-        return calendar;
     }
 
-    private boolean isAllowedDay(LocalDate d, Constraints constraints) {
-        List<DayOfWeek> allowed = constraints.getAllowedDays();
-        if (allowed == null || allowed.isEmpty()) return true;
-        return allowed.contains(d.getDayOfWeek());
+    /**
+     * Courses the schedule will contain: the pinned ones and the remaining ones.
+     */
+    private static int[] scheduledCourses(ScheduleState state, List<Integer> remaining) {
+        int[] out = new int[state.placedCount() + remaining.size()];
+        int n = 0;
+        for (int i = 0; i < state.placedCount(); i++) out[n++] = state.placedCourse(i);
+        for (int c : remaining) out[n++] = c;
+        return out;
     }
 
-    private List<LocalDateTime> candidateStartsForDate(LocalDate date, Constraints constraints) {
-        List<Constraints.TimeRange> ranges = constraints.getAllowedTimeRanges();
-        if (ranges == null || ranges.isEmpty()) {
-            ranges = List.of(new Constraints.TimeRange(LocalTime.of(9, 0), LocalTime.of(17, 0)));
+    /**
+     * Schedules the connected components of the co-enrollment graph concurrently on the common fork/join pool.
+     * Components share no students, so each gets its own state; they compete only for room time, which is booked
+     * atomically in one shared timeline. The parts are then merged into a new state: pinned sessions first, then
+     * each component's placements in component order.
+     */
+    private ScheduleState solveComponents(ScheduleState state,
+                                          int[][] components,
+                                          List<Integer> remaining,
+                                          CandidateSlots[] slots,
+                                          int[] durations,
+                                          Constraints constraints) {
+        ProblemModel model = state.model();
+        LocalDate firstDay = state.toDateTime(0).toLocalDate();
+        RoomTimeline rooms = new SharedRoomTimeline(model.roomCount(), state.roomTimeline().turnoverMinutes());
+        boolean[] toPlace = new boolean[model.courseCount()];
+        for (int c : remaining) toPlace[c] = true;
+
+        ScheduleState[] parts = new ScheduleState[components.length];
+        RunMonitor group = state.monitor().part();
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (int k = 0; k < components.length; k++) {
+            int[] component = components[k];
+            int index = k;
+            tasks.add(ForkJoinTask.adapt(() -> {
+                try {
+                    ScheduleState part = new ScheduleState(model, state.graph(), firstDay, state.dayCount(), rooms,
+                            group.part());
+                    List<Integer> partRemaining = new ArrayList<>();
+                    for (int c : component) {
+                        if (state.isPinned(c)) {
+                            part.pin(c, state.startOf(c), state.durationOf(c), state.roomsOf(c), state.seatsOf(c),
+                                    state.pinnedSession(c));
+                        } else if (toPlace[c]) {
+                            partRemaining.add(c);
+                        }
+                    }
+                    construct(part, partRemaining, slots, durations, constraints);
+                    parts[index] = part;
+                } catch (RuntimeException | Error ex) {
+                    group.stop();
+                    throw ex;
+                }
+            }));
         }
 
-        int step = Math.max(1, constraints.getSlotStepMinutes());
-
-        List<LocalDateTime> out = new ArrayList<>();
-        for (Constraints.TimeRange tr : ranges) {
-            if (tr == null || tr.getStart() == null || tr.getEnd() == null) continue;
-
-            LocalTime t = tr.getStart();
-            // Slot generation is independent of exam durations; duration checks are applied later per course.
-            while (!t.isAfter(tr.getEnd())) {
-                out.add(date.atTime(t));
-                t = t.plusMinutes(step);
+        // A failed part stops the others; all are waited for so none still books rooms when this returns.
+        for (ForkJoinTask<?> t : tasks) t.fork();
+        RuntimeException failure = null;
+        for (ForkJoinTask<?> t : tasks) {
+            try {
+                t.join();
+            } catch (RuntimeException ex) {
+                // The stopped siblings report cancellation; keep the failure that caused it.
+                boolean cause = !(ex instanceof CancellationException);
+                if (failure == null || (cause && failure instanceof CancellationException)) failure = ex;
             }
         }
-
-        return out;
+        if (failure != null) throw failure;
+
+        ScheduleState merged = new ScheduleState(model, state.graph(), firstDay, state.dayCount(),
+                state.roomTimeline().turnoverMinutes(), state.monitor());
+        for (int i = 0; i < state.placedCount(); i++) {
+            int c = state.placedCourse(i);
+            merged.pin(c, state.startOf(c), state.durationOf(c), state.roomsOf(c), state.seatsOf(c),
+                    state.pinnedSession(c));
+        }
+        for (ScheduleState part : parts) {
+            for (int i = 0; i < part.placedCount(); i++) {
+                int c = part.placedCourse(i);
+                if (part.isPinned(c)) continue;
+                merged.place(c, part.startOf(c), part.durationOf(c), part.roomsOf(c), part.seatsOf(c));
+            }
+        }
+        merged.reportProgress();
+        return merged;
     }
 
-    private boolean fitsTimeRanges(LocalDateTime start, int durationMinutes, Constraints constraints) {
-        if (start == null) return false;
-
-        LocalTime s = start.toLocalTime();
-        LocalTime e = s.plusMinutes(durationMinutes);
-        List<Constraints.TimeRange> ranges = constraints.getAllowedTimeRanges();
-
-        if (ranges == null || ranges.isEmpty()) {
-            return true;
+    /**
+     * Loads a pinned session into the state as it is; its students are the course's current enrollment.
+     */
+    private static void pinSession(ScheduleState state, ExamSession session) {
+        ProblemModel model = state.model();
+        int c = model.courseId(session.getCourse());
+        if (c < 0) {
+            throw new IllegalArgumentException("Pinned session for unknown course: " + session.getCourseCode());
         }
-
-        for (Constraints.TimeRange tr : ranges) {
-            if (tr == null || tr.getStart() == null || tr.getEnd() == null) continue;
-            if (!s.isBefore(tr.getStart()) && !e.isAfter(tr.getEnd())) return true;
+        if (session.getStartDateTime() == null || session.getDurationMinutes() <= 0) {
+            throw new IllegalArgumentException("Pinned session needs a start time and duration: " + session.getCourseCode());
+        }
+        if (state.isPlaced(c)) {
+            throw new IllegalArgumentException("Course pinned more than once: " + session.getCourseCode());
         }
 
-        return false;
+        List<ExamRoomAssignment> assignments = session.getRoomAssignments();
+        int[] roomIds = new int[assignments.size()];
+        int[] seats = new int[assignments.size()];
+        for (int i = 0; i < roomIds.length; i++) {
+            roomIds[i] = model.roomId(assignments.get(i).getRoom());
+            if (roomIds[i] < 0) {
+                throw new IllegalArgumentException("Pinned session uses unknown classroom: " + session.getCourseCode());
+            }
+            seats[i] = assignments.get(i).getStudentCount();
+        }
+        int start = state.toMinute(session.getStartDateTime());
+        int end = start + session.getDurationMinutes();
+        for (int other = 0; other < model.courseCount(); other++) {
+            if (!state.isPinned(other) || state.startOf(other) >= end || start >= state.endOf(other)) continue;
+            if (state.graph().adjacent(c, other)) {
+                throw new IllegalArgumentException("Pinned sessions share students at the same time: "
+                        + model.courseCode(other) + ", " + session.getCourseCode());
+            }
+            for (int r : state.roomsOf(other)) {
+                for (int mine : roomIds) {
+                    if (r == mine) {
+                        throw new IllegalArgumentException("Pinned sessions overlap in a classroom: "
+                                + model.courseCode(other) + ", " + session.getCourseCode());
+                    }
+                }
+            }
+        }
+        state.pin(c, start, session.getDurationMinutes(), roomIds, seats, session);
     }
 
-    private List<Classroom> availableRoomsAt(Calendar calendar,
-                                            List<Classroom> rooms,
-                                            LocalDateTime start,
-                                            int durationMinutes) {
-        if (calendar == null) return rooms;
-
-        int turnover = getRoomTurnoverMinutes();
-        LocalDateTime end = start.plusMinutes(durationMinutes);
-        LocalDateTime endWithTurnover = end.plusMinutes(turnover);
-
-        List<Classroom> free = new ArrayList<>();
-        for (Classroom room : rooms) {
-            if (room == null) continue;
+    static void checkStopped(RunMonitor monitor) {
+        if (monitor.isCancelled()) {
+            throw new CancellationException("Schedule generation interrupted");
+        }
+        if (monitor.isPastDeadline()) {
+            throw new CancellationException("Schedule generation stopped at its deadline");
+        }
+    }
 
-            boolean ok = true;
-            for (ExamSession ex : calendar.getExamSessions()) {
-                if (ex == null) continue;
-                if (!sessionUsesRoom(ex, room)) continue;
+    /**
+     * Hands the pending courses to {@link BacktrackingSearch} when it is enabled; throws when they still
+     * cannot all be placed.
+     */
+    void backtrackOrFail(ScheduleState state,
+                         List<Integer> pending,
+                         CandidateSlots[] slots,
+                         int[] durations,
+                         Constraints constraints,
+                         int failed) {
+        String code = state.model().courseCode(failed);
+        if (options.getBacktrackingNodeBudget() <= 0) {
+            throw new IllegalStateException("Could not schedule course: " + code);
+        }
 
-                LocalDateTime s2 = ex.getStartDateTime();
-                if (s2 == null) continue;
-                LocalDateTime e2 = s2.plusMinutes(ex.getDurationMinutes()).plusMinutes(turnover);
+        BacktrackingSearch search = new BacktrackingSearch(this, state, slots, durations, constraints,
+                options.getBacktrackingNodeBudget(), options.getBacktrackingTimeBudgetMillis(), options.getRandomSeed());
+        if (!search.run(pending)) {
+            if (search.lastFailed() >= 0) code = state.model().courseCode(search.lastFailed());
+            throw new IllegalStateException("Could not schedule course: " + code + " (backtracking gave up)");
+        }
+    }
 
-                boolean overlap = start.isBefore(e2) && s2.isBefore(endWithTurnover);
-                if (overlap) {
-                    ok = false;
-                    break;
-                }
+    private void orderCourses(List<Integer> remaining, ProblemModel model, ConflictGraph graph, int[] durations) {
+        Comparator<Integer> bySize = Comparator.comparingInt((Integer c) -> model.enrollmentSize(c)).reversed();
+
+        switch (options.getCourseOrdering()) {
+            case CONFLICT_DEGREE -> remaining.sort(Comparator
+                    .comparingInt((Integer c) -> graph.degree(c))
+                    .reversed()
+                    .thenComparing(bySize)
+                    .thenComparing(model::courseCode));
+            case DURATION -> remaining.sort(Comparator
+                    .comparingInt((Integer c) -> durations[c])
+                    .reversed()
+                    .thenComparing(bySize)
+                    .thenComparing(model::courseCode));
+            case RANDOM -> {
+                // Shuffle from a fixed base order so a seed always yields the same sequence.
+                remaining.sort(Comparator.comparing(model::courseCode));
+                Collections.shuffle(remaining, new Random(options.getRandomSeed()));
             }
-
-            if (ok) free.add(room);
+            // Schedule larger courses first to avoid small courses consuming the earliest slots/rooms.
+            default -> remaining.sort(bySize.thenComparing(model::courseCode));
         }
+    }
 
-        return free;
+    /**
+     * Copy of the options this engine was created with; changing it does not affect the engine.
+     */
+    public SchedulingOptions getOptions() {
+        return new SchedulingOptions(options);
     }
 
-    private boolean sessionUsesRoom(ExamSession s, Classroom room) {
-        if (s == null || room == null) return false;
-        for (ExamRoomAssignment a : s.getRoomAssignments()) {
-            if (a != null && room.equals(a.getRoom())) return true;
+    /**
+     * Places the course at its first feasible candidate slot, skipping slots set in {@code skip} (may be null).
+     */
+    boolean placeEarliest(ScheduleState state,
+                          int c,
+                          CandidateSlots slots,
+                          int duration,
+                          long[] skip,
+                          Constraints constraints) {
+        while (true) {
+            int slot = options.isParallelCandidateEvaluation() && slots.size() >= PARALLEL_MIN_SLOTS
+                    ? ForkJoinPool.commonPool().invoke(new SlotSearchTask(state, c, slots, duration, skip, constraints))
+                    : findEarliestSlot(state, c, slots, duration, skip, constraints, 0, slots.size(), null);
+            if (slot < 0) return false;
+
+            int slotStart = slots.start(slot);
+            RoomAllocation allocation = evaluateSlot(state, c, slotStart, duration, constraints);
+            // Only fails when a shared room timeline lost the rooms to another state in between; search again.
+            if (allocation != null && state.tryPlace(c, slotStart, duration, allocation.rooms, allocation.seats)) {
+                return true;
+            }
         }
-        return false;
     }
 
-    private ExamSession buildSession(Course course,
-                                     LocalDateTime start,
-                                     int durationMinutes,
-                                     List<Student> enrolled,
-                                     List<Classroom> rooms) {
-        ExamSession session = new ExamSession(course, start, durationMinutes);
-
-        List<Student> remaining = new ArrayList<>(enrolled);
-
-        // Classroom assignment order is alphabetical (block + number) as provided by the caller.
-        for (Classroom room : rooms) {
-            if (remaining.isEmpty()) break;
-            if (room == null) continue;
-
-            int cap = room.getCapacity();
-            if (cap <= 0) continue;
+    /**
+     * Places the course exactly at this start in the given rooms, seating students in room order, when the rooms
+     * are free, hold every student and no student constraint is broken. Leaves the state unchanged otherwise.
+     */
+    boolean placeAt(ScheduleState state, int c, int slotStart, int duration, int[] roomIds, Constraints constraints) {
+        ProblemModel model = state.model();
+        int remaining = model.enrollmentSize(c);
+        int[] seats = new int[roomIds.length];
+        for (int i = 0; i < roomIds.length; i++) {
+            if (!state.roomTimeline().isFree(roomIds[i], slotStart, slotStart + duration)) return false;
+            seats[i] = Math.min(Math.max(0, model.roomCapacity(roomIds[i])), remaining);
+            remaining -= seats[i];
+        }
+        if (remaining > 0) return false;
 
-            int take = Math.min(cap, remaining.size());
-            List<Student> chunk = new ArrayList<>(remaining.subList(0, take));
-            remaining.subList(0, take).clear();
+        if (conflictsWithExisting(state, c, slotStart, duration)) return false;
+        if (violatesStudentConstraints(state, c, slotStart, duration, constraints)) return false;
 
-            session.addRoomAssignment(new ExamRoomAssignment(room, chunk));
-        }
+        return state.tryPlace(c, slotStart, duration, roomIds, seats);
+    }
 
-        if (!remaining.isEmpty()) {
-            session.setRoomAssignments(List.of());
+    /**
+     * First feasible slot index in [from, to), or -1. Stops early once {@code found} already holds a smaller index.
+     */
+    int findEarliestSlot(ScheduleState state,
+                         int c,
+                         CandidateSlots slots,
+                         int duration,
+                         long[] skip,
+                         Constraints constraints,
+                         int from,
+                         int to,
+                         AtomicInteger found) {
+        for (int i = from; i < to; i++) {
+            if (found != null && found.get() < i) return -1;
+            if (skip != null && ConflictGraph.get(skip, i)) continue;
+            if (evaluateSlot(state, c, slots.start(i), duration, constraints) != null) return i;
         }
+        return -1;
+    }
 
-        return session;
+    /**
+     * Room allocation for the course at this start, or null when the slot is infeasible.
+     * Only reads the state, so it may run concurrently for different slots.
+     */
+    RoomAllocation evaluateSlot(ScheduleState state,
+                                int c,
+                                int slotStart,
+                                int duration,
+                                Constraints constraints) {
+        state.monitor().candidateEvaluated();
+        RoomAllocation allocation = allocateRoomsAt(state, c, slotStart, duration);
+        if (allocation == null) return null;
+
+        if (conflictsWithExisting(state, c, slotStart, duration)) return null;
+        if (violatesStudentConstraints(state, c, slotStart, duration, constraints)) return null;
+
+        return allocation;
     }
 
-    private boolean conflictsWithExisting(Calendar calendar, ExamSession candidate) {
-        if (calendar == null || candidate == null) return false;
+    /**
+     * Rooms for the course among those free at this start, or null when they cannot seat everyone.
+     */
+    RoomAllocation allocateRoomsAt(ScheduleState state, int c, int slotStart, int duration) {
+        // Only use rooms that are free at this slot (with turnover buffer)
+        int[] available = availableRoomsAt(state, slotStart, duration);
+        if (available.length == 0) return null;
+
+        return options.getRoomPacking() == RoomPacking.BEST_FIT
+                ? state.roomPacker().pack(state.model().enrollmentSize(c), available)
+                : allocateRooms(state.model(), c, available);
+    }
 
-        LocalDateTime s1 = candidate.getStartDateTime();
-        LocalDateTime e1 = (s1 == null) ? null : s1.plusMinutes(candidate.getDurationMinutes());
-        if (s1 == null || e1 == null) return true;
+    /**
+     * Candidate slots over the days of a period starting at startDate; days before searchFrom get none.
+     */
+    CandidateSlots candidateSlots(LocalDate startDate,
+                                  LocalDate searchFrom,
+                                  int days,
+                                  int duration,
+                                  Constraints constraints) {
+        LocalDate endDate = constraints.getExamWeekEndDate();
+        SlotLattice lattice = constraints.slotLattice();
+        // Valid start minutes-of-day are the same for every allowed day; only the day offset changes.
+        int[] starts = lattice.startsFor(duration);
+
+        int[][] perDay = new int[days][];
+        for (int dayOffset = 0; dayOffset < days; dayOffset++) {
+            perDay[dayOffset] = new int[0];
+
+            LocalDate d = startDate.plusDays(dayOffset);
+            if (d.isBefore(searchFrom)) continue;
+            if (endDate != null && d.isAfter(endDate)) continue;
+            if (!lattice.isAllowed(d.getDayOfWeek())) continue;
+
+            int[] out = new int[starts.length];
+            int base = dayOffset * ScheduleState.MINUTES_PER_DAY;
+            for (int i = 0; i < starts.length; i++) out[i] = base + starts[i];
+            perDay[dayOffset] = out;
+        }
+        return new CandidateSlots(perDay);
+    }
 
-        Set<Classroom> candRooms = extractRooms(candidate);
-        Set<Student> candStudents = new HashSet<>(candidate.getAllStudents());
+    private int[] availableRoomsAt(ScheduleState state, int start, int durationMinutes) {
+        // The timeline applies the turnover buffer on both sides of every booked interval.
+        return state.roomTimeline().freeRooms(start, start + durationMinutes);
+    }
 
-        for (ExamSession existing : calendar.getExamSessions()) {
-            if (existing == null) continue;
+    private RoomAllocation allocateRooms(ProblemModel model, int course, int[] rooms) {
+        int remaining = model.enrollmentSize(course);
 
-            LocalDateTime s2 = existing.getStartDateTime();
-            LocalDateTime e2 = (s2 == null) ? null : s2.plusMinutes(existing.getDurationMinutes());
-            if (s2 == null || e2 == null) continue;
+        int[] used = new int[rooms.length];
+        int[] seats = new int[rooms.length];
+        int n = 0;
 
-            boolean overlap = s1.isBefore(e2) && s2.isBefore(e1);
+        // Classroom assignment order is alphabetical (block + number) as provided by the model.
+        for (int r : rooms) {
+            if (remaining == 0) break;
 
-            Set<Classroom> exRooms = extractRooms(existing);
-            boolean sharesRoom = false;
-            for (Classroom r : candRooms) {
-                if (exRooms.contains(r)) {
-                    sharesRoom = true;
-                    break;
-                }
-            }
+            int cap = model.roomCapacity(r);
+            if (cap <= 0) continue;
 
-            // Room conflict uses a turnover buffer (e.g., 10 minutes) even if times do not strictly overlap.
-            if (sharesRoom) {
-                int roomBuffer = getRoomTurnoverMinutes();
-                LocalDateTime e2b = e2.plusMinutes(roomBuffer);
-                LocalDateTime e1b = e1.plusMinutes(roomBuffer);
+            int take = Math.min(cap, remaining);
+            used[n] = r;
+            seats[n] = take;
+            n++;
+            remaining -= take;
+        }
 
-                boolean overlapWithBuffer = s1.isBefore(e2b) && s2.isBefore(e1b);
-                if (overlapWithBuffer) return true;
-            }
+        if (remaining > 0) return null;
+        return new RoomAllocation(Arrays.copyOf(used, n), Arrays.copyOf(seats, n));
+    }
 
-            // Student collision only matters if sessions overlap in time.
-            if (overlap) {
-                Set<Student> exStudents = new HashSet<>(existing.getAllStudents());
-                for (Student st : candStudents) {
-                    if (exStudents.contains(st)) return true;
+    private boolean conflictsWithExisting(ScheduleState state, int course, int s1, int durationMinutes) {
+        // Rooms come from availableRoomsAt, which already applies the turnover buffer,
+        // so only student collisions remain to be checked here.
+        int e1 = s1 + durationMinutes;
+        long[] adjacent = state.graph().adjacency(course);
+
+        // Any placed neighbor shares a student, so a time overlap alone is a collision.
+        // Sessions that started on earlier days can still reach into this slot.
+        int firstDay = Math.max(0, ScheduleState.dayOf(s1 - state.maxPlacedDuration()));
+        int lastDay = Math.min(state.dayCount() - 1, ScheduleState.dayOf(e1));
+        for (int day = firstDay; day <= lastDay; day++) {
+            long[] onDay = state.placedOnDay(day);
+            if (onDay == null) continue;
+
+            for (int w = 0; w < adjacent.length; w++) {
+                long bits = adjacent[w] & onDay[w];
+                while (bits != 0) {
+                    int p = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+
+                    boolean overlap = s1 < state.endOf(p) && state.startOf(p) < e1;
+                    if (overlap) return true;
                 }
             }
         }
@@ -292,80 +605,50 @@ public class SchedulingEngine {
         return false;
     }
 
-    private boolean violatesStudentConstraints(Calendar calendar, ExamSession candidate, Constraints constraints) {
-        if (calendar == null || candidate == null || constraints == null) return false;
-
+    private boolean violatesStudentConstraints(ScheduleState state,
+                                               int course,
+                                               int start,
+                                               int durationMinutes,
+                                               Constraints constraints) {
         int minGap = Math.max(0, constraints.getMinMinutesBetweenExams());
         int maxPerDay = Math.max(1, constraints.getMaxExamsPerDay());
 
-        LocalDateTime start = candidate.getStartDateTime();
-        if (start == null) return true;
-        LocalDate date = start.toLocalDate();
-        LocalDateTime end = start.plusMinutes(candidate.getDurationMinutes());
-
-        Map<Student, List<ExamSession>> perStudent = indexSessionsByStudent(calendar);
-
-        for (Student st : candidate.getAllStudents()) {
-            List<ExamSession> already = perStudent.getOrDefault(st, List.of());
-
-            int dayCount = 0;
-            for (ExamSession ex : already) {
-                LocalDateTime s2 = ex.getStartDateTime();
-                if (s2 != null && date.equals(s2.toLocalDate())) dayCount++;
-            }
-            if (dayCount >= maxPerDay) return true;
-
-            for (ExamSession ex : already) {
-                LocalDateTime s2 = ex.getStartDateTime();
-                if (s2 == null) continue;
-                LocalDateTime e2 = s2.plusMinutes(ex.getDurationMinutes());
-
-                boolean overlap = start.isBefore(e2) && s2.isBefore(end);
-                if (overlap) return true;
-
-                long gap1 = Duration.between(e2, start).toMinutes();
-                long gap2 = Duration.between(end, s2).toMinutes();
-                long gap = Math.max(gap1, gap2);
-
-                if (gap >= 0 && gap < minGap) return true;
-            }
-        }
-
-        return false;
+        return state.studentIndex().violates(course, start, start + durationMinutes, minGap, maxPerDay);
     }
 
-    private Map<Student, List<ExamSession>> indexSessionsByStudent(Calendar calendar) {
-        Map<Student, List<ExamSession>> map = new HashMap<>();
-
-        for (ExamSession s : calendar.getExamSessions()) {
-            if (s == null) continue;
-            for (Student st : s.getAllStudents()) {
-                map.computeIfAbsent(st, k -> new ArrayList<>()).add(s);
-            }
-        }
-
-        return map;
+    static LocalDate firstExamDay(Constraints constraints) {
+        LocalDate startDate = constraints.getExamWeekStartDate();
+        return (startDate == null) ? LocalDate.now().plusDays(1) : startDate;
     }
 
-    private Set<Classroom> extractRooms(ExamSession s) {
-        Set<Classroom> out = new HashSet<>();
-        if (s == null) return out;
+    /**
+     * Number of days from startDate the search covers: up to the configured end date, at most MAX_SEARCH_DAYS.
+     */
+    static int searchDays(LocalDate startDate, Constraints constraints) {
+        LocalDate endDate = constraints.getExamWeekEndDate();
+        if (endDate != null && endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("examWeekEndDate cannot be before examWeekStartDate");
+        }
 
-        for (ExamRoomAssignment a : s.getRoomAssignments()) {
-            if (a != null && a.getRoom() != null) out.add(a.getRoom());
+        int maxDaysToTry = MAX_SEARCH_DAYS;
+        if (endDate != null) {
+            long span = java.time.temporal.ChronoUnit.DAYS.between(startDate, endDate) + 1;
+            if (span <= 0) {
+                throw new IllegalArgumentException("Invalid exam week date range");
+            }
+            maxDaysToTry = (int) Math.min(span, MAX_SEARCH_DAYS);
         }
-        return out;
+        return maxDaysToTry;
     }
 
-    private int estimateDurationMinutes(Course c, Constraints constraints) {
+    static int estimateDurationMinutes(int credit, Constraints constraints) {
         if (constraints == null) return DEFAULT_DURATION_MIN;
 
         int base = Math.max(1, constraints.getBaseExamDurationMinutes());
         int k = Math.max(0, constraints.getCreditDurationCoefficientMinutes());
 
-        Integer credit = creditOf(c);
         int raw;
-        if (credit == null || credit <= 0) {
+        if (credit <= 0) {
             raw = Math.max(DEFAULT_DURATION_MIN, base);
         } else {
             raw = base + (credit * k);
@@ -381,84 +664,71 @@ public class SchedulingEngine {
         return raw;
     }
 
-    private List<Student> extractEnrolledStudents(Course c) {
-        Object v = tryInvokeNoArg(c, "getEnrolledStudents");
-        if (v == null) v = tryGetField(c, "enrolledStudents");
-        if (v == null) v = tryGetField(c, "students");
-
-        if (v instanceof Iterable<?>) {
-            List<Student> out = new ArrayList<>();
-            for (Object o : (Iterable<?>) v) {
-                if (o instanceof Student) out.add((Student) o);
-            }
-            return out;
+    /**
+     * Splits a course's candidate slots into chunks evaluated on the fork/join pool. The placed state is not
+     * modified while the task runs, and the smallest feasible index wins, so the chosen slot is exactly the
+     * one the sequential scan would pick.
+     */
+    private final class SlotSearchTask extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+
+        private final ScheduleState state;
+        private final int course;
+        private final CandidateSlots slots;
+        private final int duration;
+        private final long[] skip;
+        private final Constraints constraints;
+        private final int from;
+        private final int to;
+        private final AtomicInteger found;
+
+        SlotSearchTask(ScheduleState state, int course, CandidateSlots slots, int duration, long[] skip,
+                       Constraints constraints) {
+            this(state, course, slots, duration, skip, constraints, 0, slots.size(),
+                    new AtomicInteger(Integer.MAX_VALUE));
         }
 
-        return List.of();
-    }
+        private SlotSearchTask(ScheduleState state, int course, CandidateSlots slots, int duration, long[] skip,
+                               Constraints constraints, int from, int to, AtomicInteger found) {
+            this.state = state;
+            this.course = course;
+            this.slots = slots;
+            this.duration = duration;
+            this.skip = skip;
+            this.constraints = constraints;
+            this.from = from;
+            this.to = to;
+            this.found = found;
+        }
 
-    private String courseCodeOf(Course c) {
-        Object v = tryInvokeNoArg(c, "getCourseCode");
-        if (v == null) v = tryGetField(c, "courseCode");
-        return v == null ? "" : String.valueOf(v);
-    }
+        @Override
+        protected Integer compute() {
+            if (from >= found.get()) return -1;
 
-    private Integer creditOf(Course c) {
-        Object v = tryInvokeNoArg(c, "getCredit");
-        if (v == null) v = tryGetField(c, "credit");
-        if (v instanceof Number) return ((Number) v).intValue();
-        if (v != null) {
-            try {
-                return Integer.parseInt(String.valueOf(v));
-            } catch (Exception ignored) {
+            if (to - from <= PARALLEL_CHUNK_SLOTS) {
+                int slot = findEarliestSlot(state, course, slots, duration, skip, constraints, from, to, found);
+                if (slot >= 0) found.accumulateAndGet(slot, Math::min);
+                return slot;
             }
-        }
-        return null;
-    }
 
-    private Object tryInvokeNoArg(Object target, String methodName) {
-        if (target == null || methodName == null) return null;
-        try {
-            Method m = target.getClass().getMethod(methodName);
-            return m.invoke(target);
-        } catch (Exception ignored) {
-            return null;
+            int mid = (from + to) >>> 1;
+            SlotSearchTask left = new SlotSearchTask(state, course, slots, duration, skip, constraints, from, mid, found);
+            SlotSearchTask right = new SlotSearchTask(state, course, slots, duration, skip, constraints, mid, to, found);
+            right.fork();
+            int l = left.compute();
+            int r = right.join();
+            if (l >= 0) return l;
+            return r;
         }
     }
 
-    private Object tryGetField(Object target, String fieldName) {
-        if (target == null || fieldName == null) return null;
-        try {
-            Field f = target.getClass().getDeclaredField(fieldName);
-            f.setAccessible(true);
-            return f.get(target);
-        } catch (Exception ignored) {
-            return null;
-        }
-    }
-
-    private int safeSize(List<?> list) {
-        return list == null ? 0 : list.size();
-    }
-
-    private String safeString(String s) {
-        return s == null ? "" : s;
-    }
-
-    private String roomBlock(String id) {
-        if (id == null) return "";
-        String letters = id.replaceAll("[^A-Za-z]", "");
-        return letters == null ? "" : letters;
-    }
+    static final class RoomAllocation {
+        final int[] rooms;
+        final int[] seats;
 
-    private int roomNumber(String id) {
-        if (id == null) return Integer.MAX_VALUE;
-        String digits = id.replaceAll("[^0-9]", "");
-        if (digits.isEmpty()) return Integer.MAX_VALUE;
-        try {
-            return Integer.parseInt(digits);
-        } catch (Exception e) {
-            return Integer.MAX_VALUE;
+        RoomAllocation(int[] rooms, int[] seats) {
+            this.rooms = rooms;
+            this.seats = seats;
         }
     }
 }
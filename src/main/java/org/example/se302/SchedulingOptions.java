@@ -0,0 +1,225 @@
+package org.example.se302;
+
+import java.util.Objects;
+
+/**
+ * Engine tuning knobs. Unlike {@link Constraints}, these never change what counts as a valid schedule,
+ * only how the engine searches for one.
+ */
+public class SchedulingOptions {
+
+    private PlacementStrategy placementStrategy;
+    private CourseOrdering courseOrdering;
+    private long randomSeed;
+    private boolean parallelCandidateEvaluation;
+    private RoomPacking roomPacking;
+    private long improvementTimeBudgetMillis;
+    private long improvementMaxIterations;
+    private long backtrackingNodeBudget;
+    private long backtrackingTimeBudgetMillis;
+    private boolean componentDecomposition;
+    private boolean roomEquivalenceClasses;
+
+    public SchedulingOptions() {
+        this.placementStrategy = PlacementStrategy.STATIC_ORDER;
+        this.courseOrdering = CourseOrdering.ENROLLMENT;
+        this.randomSeed = 0L;
+        this.parallelCandidateEvaluation = false;
+        this.roomPacking = RoomPacking.IN_ORDER;
+        this.improvementTimeBudgetMillis = 0L;
+        this.improvementMaxIterations = 200_000L;
+        this.backtrackingNodeBudget = 0L;
+        this.backtrackingTimeBudgetMillis = 30_000L;
+        this.componentDecomposition = false;
+        this.roomEquivalenceClasses = false;
+    }
+
+    public SchedulingOptions(SchedulingOptions other) {
+        this.placementStrategy = other.placementStrategy;
+        this.courseOrdering = other.courseOrdering;
+        this.randomSeed = other.randomSeed;
+        this.parallelCandidateEvaluation = other.parallelCandidateEvaluation;
+        this.roomPacking = other.roomPacking;
+        this.improvementTimeBudgetMillis = other.improvementTimeBudgetMillis;
+        this.improvementMaxIterations = other.improvementMaxIterations;
+        this.backtrackingNodeBudget = other.backtrackingNodeBudget;
+        this.backtrackingTimeBudgetMillis = other.backtrackingTimeBudgetMillis;
+        this.componentDecomposition = other.componentDecomposition;
+        this.roomEquivalenceClasses = other.roomEquivalenceClasses;
+    }
+
+    public PlacementStrategy getPlacementStrategy() {
+        return placementStrategy;
+    }
+
+    public void setPlacementStrategy(PlacementStrategy placementStrategy) {
+        if (placementStrategy == null) {
+            throw new IllegalArgumentException("placementStrategy cannot be null");
+        }
+        this.placementStrategy = placementStrategy;
+    }
+
+    /**
+     * Course order used by {@link PlacementStrategy#STATIC_ORDER}; ties are broken by enrollment and course code.
+     */
+    public CourseOrdering getCourseOrdering() {
+        return courseOrdering;
+    }
+
+    public void setCourseOrdering(CourseOrdering courseOrdering) {
+        if (courseOrdering == null) {
+            throw new IllegalArgumentException("courseOrdering cannot be null");
+        }
+        this.courseOrdering = courseOrdering;
+    }
+
+    public long getRandomSeed() {
+        return randomSeed;
+    }
+
+    public void setRandomSeed(long randomSeed) {
+        this.randomSeed = randomSeed;
+    }
+
+    /**
+     * When enabled, the candidate slots of each course are evaluated on the common fork/join pool.
+     * The resulting schedule is identical to the sequential one.
+     */
+    public boolean isParallelCandidateEvaluation() {
+        return parallelCandidateEvaluation;
+    }
+
+    public void setParallelCandidateEvaluation(boolean parallelCandidateEvaluation) {
+        this.parallelCandidateEvaluation = parallelCandidateEvaluation;
+    }
+
+    public RoomPacking getRoomPacking() {
+        return roomPacking;
+    }
+
+    public void setRoomPacking(RoomPacking roomPacking) {
+        if (roomPacking == null) {
+            throw new IllegalArgumentException("roomPacking cannot be null");
+        }
+        this.roomPacking = roomPacking;
+    }
+
+    /**
+     * Time budget of the local-search phase that runs after construction; 0 disables it.
+     * The phase uses {@link #getRandomSeed()}, so it is reproducible when the iteration limit ends it first.
+     */
+    public long getImprovementTimeBudgetMillis() {
+        return improvementTimeBudgetMillis;
+    }
+
+    public void setImprovementTimeBudgetMillis(long improvementTimeBudgetMillis) {
+        if (improvementTimeBudgetMillis < 0) {
+            throw new IllegalArgumentException("improvementTimeBudgetMillis cannot be negative");
+        }
+        this.improvementTimeBudgetMillis = improvementTimeBudgetMillis;
+    }
+
+    public long getImprovementMaxIterations() {
+        return improvementMaxIterations;
+    }
+
+    public void setImprovementMaxIterations(long improvementMaxIterations) {
+        if (improvementMaxIterations < 1) {
+            throw new IllegalArgumentException("improvementMaxIterations must be at least 1");
+        }
+        this.improvementMaxIterations = improvementMaxIterations;
+    }
+
+    /**
+     * Maximum number of placement attempts of the backtracking search that runs when a course cannot be
+     * placed; 0 disables it, so generation fails on the first such course.
+     */
+    public long getBacktrackingNodeBudget() {
+        return backtrackingNodeBudget;
+    }
+
+    public void setBacktrackingNodeBudget(long backtrackingNodeBudget) {
+        if (backtrackingNodeBudget < 0) {
+            throw new IllegalArgumentException("backtrackingNodeBudget cannot be negative");
+        }
+        this.backtrackingNodeBudget = backtrackingNodeBudget;
+    }
+
+    public long getBacktrackingTimeBudgetMillis() {
+        return backtrackingTimeBudgetMillis;
+    }
+
+    public void setBacktrackingTimeBudgetMillis(long backtrackingTimeBudgetMillis) {
+        if (backtrackingTimeBudgetMillis < 1) {
+            throw new IllegalArgumentException("backtrackingTimeBudgetMillis must be at least 1");
+        }
+        this.backtrackingTimeBudgetMillis = backtrackingTimeBudgetMillis;
+    }
+
+    /**
+     * When enabled, groups of courses that share no students, directly or through other courses, are scheduled
+     * concurrently on the common fork/join pool and only compete for room time. Because room time goes to the
+     * group that books it first, the schedule may differ from run to run when there is more than one group.
+     */
+    public boolean isComponentDecomposition() {
+        return componentDecomposition;
+    }
+
+    public void setComponentDecomposition(boolean componentDecomposition) {
+        this.componentDecomposition = componentDecomposition;
+    }
+
+    /**
+     * When enabled, rooms with the same capacity and room-specific rule are treated as interchangeable: the search
+     * only decides how many rooms of each such class a session uses, and concrete rooms are assigned once every
+     * session is placed. Not used when pinned sessions are given or the problem is split into components.
+     */
+    public boolean isRoomEquivalenceClasses() {
+        return roomEquivalenceClasses;
+    }
+
+    public void setRoomEquivalenceClasses(boolean roomEquivalenceClasses) {
+        this.roomEquivalenceClasses = roomEquivalenceClasses;
+    }
+
+    @Override
+    public String toString() {
+        return "SchedulingOptions{" +
+                "placementStrategy=" + placementStrategy +
+                ", courseOrdering=" + courseOrdering +
+                ", randomSeed=" + randomSeed +
+                ", parallelCandidateEvaluation=" + parallelCandidateEvaluation +
+                ", roomPacking=" + roomPacking +
+                ", improvementTimeBudgetMillis=" + improvementTimeBudgetMillis +
+                ", improvementMaxIterations=" + improvementMaxIterations +
+                ", backtrackingNodeBudget=" + backtrackingNodeBudget +
+                ", backtrackingTimeBudgetMillis=" + backtrackingTimeBudgetMillis +
+                ", componentDecomposition=" + componentDecomposition +
+                ", roomEquivalenceClasses=" + roomEquivalenceClasses +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SchedulingOptions that)) return false;
+        return placementStrategy == that.placementStrategy
+                && courseOrdering == that.courseOrdering
+                && randomSeed == that.randomSeed
+                && parallelCandidateEvaluation == that.parallelCandidateEvaluation
+                && roomPacking == that.roomPacking
+                && improvementTimeBudgetMillis == that.improvementTimeBudgetMillis
+                && improvementMaxIterations == that.improvementMaxIterations
+                && backtrackingNodeBudget == that.backtrackingNodeBudget
+                && backtrackingTimeBudgetMillis == that.backtrackingTimeBudgetMillis
+                && componentDecomposition == that.componentDecomposition
+                && roomEquivalenceClasses == that.roomEquivalenceClasses;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(placementStrategy, courseOrdering, randomSeed, parallelCandidateEvaluation,
+                roomPacking, improvementTimeBudgetMillis, improvementMaxIterations, backtrackingNodeBudget,
+                backtrackingTimeBudgetMillis, componentDecomposition, roomEquivalenceClasses);
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.se302;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link RoomTimeline} shared by several runs working on disjoint courses at the same time. Every room has its
+ * own lock; {@link #tryOccupy(int[], int, int)} holds the locks of all requested rooms (taken in id order)
+ * while it checks and books them, so two runs can never claim the same room time.
+ */
+final class SharedRoomTimeline extends RoomTimeline {
+
+    private final ReentrantLock[] locks;
+
+    SharedRoomTimeline(int roomCount, int turnoverMinutes) {
+        super(roomCount, turnoverMinutes);
+        this.locks = new ReentrantLock[roomCount];
+        for (int r = 0; r < roomCount; r++) {
+            locks[r] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    boolean isFree(int room, int start, int end) {
+        locks[room].lock();
+        try {
+            return super.isFree(room, start, end);
+        } finally {
+            locks[room].unlock();
+        }
+    }
+
+    @Override
+    boolean tryOccupy(int[] rooms, int start, int end) {
+        int[] order = rooms.clone();
+        Arrays.sort(order);
+        int locked = 0;
+        try {
+            for (int r : order) {
+                locks[r].lock();
+                locked++;
+            }
+            return super.tryOccupy(rooms, start, end);
+        } finally {
+            for (int i = 0; i < locked; i++) {
+                locks[order[i]].unlock();
+            }
+        }
+    }
+
+    @Override
+    void occupy(int room, int start, int end) {
+        locks[room].lock();
+        try {
+            super.occupy(room, start, end);
+        } finally {
+            locks[room].unlock();
+        }
+    }
+
+    @Override
+    void release(int room, int start, int end) {
+        locks[room].lock();
+        try {
+            super.release(room, start, end);
+        } finally {
+            locks[room].unlock();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package org.example.se302;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled, immutable form of the time-related parts of {@link Constraints}: allowed weekdays as a bitmask,
+ * allowed time ranges as minute-of-day arrays, and the candidate start minutes of a day. Valid starts for
+ * an exam duration are derived once per distinct duration and cached.
+ * Obtained through {@link Constraints#slotLattice()}, which recompiles after a relevant setter is called.
+ */
+final class SlotLattice {
+
+    private static final int ALL_DAYS = (1 << 7) - 1;
+
+    private final int dayMask;
+    private final int[] rangeStart;
+    private final int[] rangeEnd;
+    private final boolean anyRangeFits;
+    private final int[] startsOfDay;
+    private final ConcurrentHashMap<Integer, int[]> startsByDuration = new ConcurrentHashMap<>();
+
+    private SlotLattice(int dayMask, int[] rangeStart, int[] rangeEnd, boolean anyRangeFits, int[] startsOfDay) {
+        this.dayMask = dayMask;
+        this.rangeStart = rangeStart;
+        this.rangeEnd = rangeEnd;
+        this.anyRangeFits = anyRangeFits;
+        this.startsOfDay = startsOfDay;
+    }
+
+    static SlotLattice compile(List<DayOfWeek> allowedDays, List<Constraints.TimeRange> allowedTimeRanges, int step) {
+        int mask = 0;
+        if (allowedDays == null || allowedDays.isEmpty()) {
+            mask = ALL_DAYS;
+        } else {
+            for (DayOfWeek d : allowedDays) {
+                if (d != null) mask |= bit(d);
+            }
+        }
+
+        // Without configured ranges every start fits, and starts are generated from 09:00 to 17:00.
+        boolean anyRangeFits = allowedTimeRanges == null || allowedTimeRanges.isEmpty();
+        int[] rs = new int[anyRangeFits ? 1 : allowedTimeRanges.size()];
+        int[] re = new int[rs.length];
+        int n = 0;
+        if (anyRangeFits) {
+            rs[0] = 9 * 60;
+            re[0] = 17 * 60;
+            n = 1;
+        } else {
+            for (Constraints.TimeRange tr : allowedTimeRanges) {
+                if (tr == null || tr.getStart() == null || tr.getEnd() == null) continue;
+                rs[n] = minuteOfDay(tr.getStart());
+                re[n] = minuteOfDay(tr.getEnd());
+                n++;
+            }
+        }
+        rs = Arrays.copyOf(rs, n);
+        re = Arrays.copyOf(re, n);
+
+        step = Math.max(1, step);
+        int total = 0;
+        for (int i = 0; i < n; i++) {
+            if (rs[i] <= re[i]) total += (re[i] - rs[i]) / step + 1;
+        }
+        int[] starts = new int[total];
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            // Slot generation is independent of exam durations; durations are filtered in startsFor().
+            for (int t = rs[i]; t <= re[i]; t += step) {
+                starts[k++] = t;
+            }
+        }
+
+        return new SlotLattice(mask, rs, re, anyRangeFits, starts);
+    }
+
+    boolean isAllowed(DayOfWeek day) {
+        return day != null && (dayMask & bit(day)) != 0;
+    }
+
+    /**
+     * True when an exam of the given length starting at minuteOfDay lies inside one allowed time range.
+     */
+    boolean fits(int minuteOfDay, int durationMinutes) {
+        if (anyRangeFits) return true;
+
+        int end = minuteOfDay + durationMinutes;
+        for (int i = 0; i < rangeStart.length; i++) {
+            if (minuteOfDay >= rangeStart[i] && end <= rangeEnd[i]) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Start minutes-of-day valid for an exam of the given length, in search order. Must not be modified.
+     */
+    int[] startsFor(int durationMinutes) {
+        return startsByDuration.computeIfAbsent(durationMinutes, d -> {
+            int[] out = new int[startsOfDay.length];
+            int n = 0;
+            for (int t : startsOfDay) {
+                if (fits(t, d)) out[n++] = t;
+            }
+            return Arrays.copyOf(out, n);
+        });
+    }
+
+    /**
+     * Most exams of at least the given length that can start on one day with gapMinutes between them.
+     */
+    int maxDisjointExamsPerDay(int durationMinutes, int gapMinutes) {
+        int[] starts = startsFor(durationMinutes).clone();
+        Arrays.sort(starts);
+        int count = 0;
+        long next = Long.MIN_VALUE;
+        for (int t : starts) {
+            if (t < next) continue;
+            count++;
+            next = (long) t + durationMinutes + gapMinutes;
+        }
+        return count;
+    }
+
+    /**
+     * Minutes of a day during which an exam no longer than maxDurationMinutes can be running.
+     */
+    int usableMinutesPerDay(int maxDurationMinutes) {
+        if (anyRangeFits) {
+            return rangeStart.length == 0 ? 0 : rangeEnd[0] - rangeStart[0] + maxDurationMinutes;
+        }
+
+        // Length of the union of the ranges.
+        Integer[] order = new Integer[rangeStart.length];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Integer.compare(rangeStart[a], rangeStart[b]));
+        int total = 0;
+        int coveredTo = Integer.MIN_VALUE;
+        for (int i : order) {
+            int from = Math.max(rangeStart[i], coveredTo);
+            if (rangeEnd[i] > from) total += rangeEnd[i] - from;
+            coveredTo = Math.max(coveredTo, rangeEnd[i]);
+        }
+        return total;
+    }
+
+    static int minuteOfDay(LocalTime t) {
+        return t.getHour() * 60 + t.getMinute();
+    }
+
+    private static int bit(DayOfWeek d) {
+        return 1 << (d.getValue() - 1);
+    }
+}
@@ -0,0 +1,120 @@
+package org.example.se302;
+
+/**
+ * Per-student exam timetable, updated once per committed session.
+ * Each student owns a fixed slice of flat int arrays (sized by the number of courses they take) holding
+ * their exams' start/end minutes sorted by start. A student's exams never overlap, so both starts and
+ * ends are sorted and every lookup, including "exams on day d" (starts in [d * 1440, (d + 1) * 1440)),
+ * is a binary search within the slice.
+ */
+final class StudentExamIndex {
+
+    private final ProblemModel model;
+
+    private final int[] offset;
+    private final int[] size;
+    private final int[] starts;
+    private final int[] ends;
+
+    StudentExamIndex(ProblemModel model) {
+        this.model = model;
+        int n = model.studentCount();
+        this.offset = new int[n + 1];
+        for (int s = 0; s < n; s++) {
+            offset[s + 1] = offset[s] + model.coursesOf(s).length;
+        }
+        this.size = new int[n];
+        this.starts = new int[offset[n]];
+        this.ends = new int[offset[n]];
+    }
+
+    void add(int course, int start, int end) {
+        for (int s : model.enrollment(course)) {
+            int base = offset[s];
+            int i = base + size[s];
+            // Insertion sort step: a student only has a handful of exams.
+            while (i > base && starts[i - 1] > start) {
+                starts[i] = starts[i - 1];
+                ends[i] = ends[i - 1];
+                i--;
+            }
+            starts[i] = start;
+            ends[i] = end;
+            size[s]++;
+        }
+    }
+
+    void remove(int course, int start) {
+        for (int s : model.enrollment(course)) {
+            int base = offset[s];
+            int to = base + size[s];
+            int i = lowerBound(base, to, start);
+            if (i == to || starts[i] != start) continue;
+
+            System.arraycopy(starts, i + 1, starts, i, to - i - 1);
+            System.arraycopy(ends, i + 1, ends, i, to - i - 1);
+            size[s]--;
+        }
+    }
+
+    /**
+     * Start minutes of the student's exams, in order: {@code starts()[from(s) .. from(s) + count(s))}.
+     * Must not be modified.
+     */
+    int[] starts() {
+        return starts;
+    }
+
+    int from(int student) {
+        return offset[student];
+    }
+
+    int count(int student) {
+        return size[student];
+    }
+
+    int examsOnDay(int student, int day) {
+        int from = offset[student];
+        int to = from + size[student];
+        int dayFrom = lowerBound(from, to, day * ScheduleState.MINUTES_PER_DAY);
+        return lowerBound(dayFrom, to, (day + 1) * ScheduleState.MINUTES_PER_DAY) - dayFrom;
+    }
+
+    /**
+     * True when placing the course in [start, end) would give one of its students more than maxPerDay
+     * exams on the day of start, or an exam overlapping / closer than minGap minutes to another.
+     */
+    boolean violates(int course, int start, int end, int minGap, int maxPerDay) {
+        int windowStart = start - minGap;
+        int windowEnd = end + minGap;
+        int dayStart = ScheduleState.dayOf(start) * ScheduleState.MINUTES_PER_DAY;
+        int dayEnd = dayStart + ScheduleState.MINUTES_PER_DAY;
+
+        for (int s : model.enrollment(course)) {
+            int from = offset[s];
+            int to = from + size[s];
+            if (from == to) continue;
+
+            int dayFrom = lowerBound(from, to, dayStart);
+            int dayTo = lowerBound(dayFrom, to, dayEnd);
+            if (dayTo - dayFrom >= maxPerDay) return true;
+
+            // The last exam starting before windowEnd has the latest end among those that could clash.
+            int last = lowerBound(from, to, windowEnd) - 1;
+            if (last >= from && ends[last] > windowStart) return true;
+        }
+
+        return false;
+    }
+
+    private int lowerBound(int from, int to, int t) {
+        int lo = from;
+        int hi = to;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (starts[mid] < t) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,157 @@
+package org.example.se302;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Schedules the same courses and classrooms under several {@link Constraints} variants (say a 60 or 90 minute
+ * gap, 2 or 3 exams per day, one week or two) and reports how they compare. The problem model and conflict
+ * graph are compiled once and shared read-only by all runs, which use one engine concurrently.
+ */
+public class WhatIfAnalysis {
+
+    private final SchedulingEngine engine;
+    private long timeBudgetMillis;
+
+    public WhatIfAnalysis() {
+        this(new SchedulingEngine());
+    }
+
+    public WhatIfAnalysis(SchedulingEngine engine) {
+        if (engine == null) {
+            throw new IllegalArgumentException("engine cannot be null");
+        }
+        this.engine = engine;
+        this.timeBudgetMillis = 60_000;
+    }
+
+    public SchedulingEngine getEngine() {
+        return engine;
+    }
+
+    public long getTimeBudgetMillis() {
+        return timeBudgetMillis;
+    }
+
+    /**
+     * Wall-clock budget for the whole batch; variants still running when it expires are reported as failed.
+     */
+    public void setTimeBudgetMillis(long timeBudgetMillis) {
+        if (timeBudgetMillis < 1) {
+            throw new IllegalArgumentException("timeBudgetMillis must be at least 1");
+        }
+        this.timeBudgetMillis = timeBudgetMillis;
+    }
+
+    /**
+     * One result per variant, in the order given.
+     */
+    public List<WhatIfResult> run(List<Course> courses, List<Classroom> classrooms, List<Constraints> variants) {
+        if (courses == null || classrooms == null) {
+            throw new IllegalArgumentException("courses/classrooms cannot be null");
+        }
+        if (variants == null || variants.isEmpty()) {
+            throw new IllegalArgumentException("variants cannot be empty");
+        }
+
+        ProblemModel model = ProblemModel.compile(courses, classrooms);
+        ConflictGraph graph = ConflictGraph.build(model);
+
+        int threads = Math.max(1, Math.min(variants.size(), Runtime.getRuntime().availableProcessors()));
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "what-if-worker");
+            t.setDaemon(true);
+            return t;
+        });
+
+        try {
+            List<Constraints> snapshots = new ArrayList<>();
+            List<Future<WhatIfResult>> futures = new ArrayList<>();
+            for (Constraints variant : variants) {
+                Constraints c = (variant == null) ? new Constraints() : new Constraints(variant);
+                snapshots.add(c);
+                futures.add(pool.submit(() -> runVariant(model, graph, c)));
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeBudgetMillis);
+            List<WhatIfResult> results = new ArrayList<>();
+            for (int i = 0; i < futures.size(); i++) {
+                Future<WhatIfResult> f = futures.get(i);
+                try {
+                    results.add(f.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+                } catch (TimeoutException ex) {
+                    f.cancel(true);
+                    results.add(WhatIfResult.failed(snapshots.get(i), "Time budget exceeded", null, timeBudgetMillis));
+                } catch (ExecutionException ex) {
+                    results.add(WhatIfResult.failed(snapshots.get(i), String.valueOf(ex.getCause()), null, 0));
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new CancellationException("What-if analysis interrupted");
+                }
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private WhatIfResult runVariant(ProblemModel model, ConflictGraph graph, Constraints constraints) {
+        long t0 = System.nanoTime();
+        try {
+            Calendar calendar = engine.generateSchedule(model, graph, constraints, null, RunMonitor.NONE);
+            return WhatIfResult.scheduled(constraints, calendar, elapsedMillis(t0));
+        } catch (InfeasibleScheduleException ex) {
+            return WhatIfResult.failed(constraints, ex.getMessage(), ex.getReport(), elapsedMillis(t0));
+        } catch (IllegalStateException | IllegalArgumentException ex) {
+            return WhatIfResult.failed(constraints, ex.getMessage(), null, elapsedMillis(t0));
+        }
+    }
+
+    /**
+     * "start..end" with a missing date left empty, or "unset" when neither is set.
+     */
+    private static String period(LocalDate start, LocalDate end) {
+        if (start == null && end == null) return "unset";
+        return (start == null ? "" : start.toString()) + ".." + (end == null ? "" : end.toString());
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000L;
+    }
+
+    /**
+     * Plain-text comparison table with one row per result: the varied settings, then the outcome.
+     */
+    public static String formatTable(List<WhatIfResult> results) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-3s %6s %7s %-23s %-8s %5s %6s %7s %8s%n",
+                "#", "gap", "max/day", "period", "feasible", "days", "rooms", "spread", "ms"));
+        for (int i = 0; i < results.size(); i++) {
+            WhatIfResult r = results.get(i);
+            Constraints c = r.getConstraints();
+            String period = period(c.getExamWeekStartDate(), c.getExamWeekEndDate());
+            sb.append(String.format("%-3d %6d %7d %-23s %-8s %5s %6s %7s %8d%n",
+                    i + 1,
+                    c.getMinMinutesBetweenExams(),
+                    c.getMaxExamsPerDay(),
+                    period,
+                    r.isFeasible() ? "yes" : "no",
+                    r.isFeasible() ? String.valueOf(r.getDaysUsed()) : "-",
+                    r.isFeasible() ? String.valueOf(r.getRoomsUsed()) : "-",
+                    r.isFeasible() ? String.format("%.2f", r.getAverageStudentSpreadDays()) : "-",
+                    r.getElapsedMillis()));
+            if (!r.isFeasible()) {
+                sb.append("    ").append(r.getFailure()).append(System.lineSeparator());
+            }
+        }
+        return sb.toString();
+    }
+}
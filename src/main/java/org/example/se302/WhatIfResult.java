@@ -0,0 +1,135 @@
+package org.example.se302;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Outcome of one {@link Constraints} variant in a {@link WhatIfAnalysis}: the schedule when one was found,
+ * otherwise why not, plus the figures compared across variants.
+ */
+public class WhatIfResult {
+
+    private final Constraints constraints;
+    private final Calendar calendar;
+    private final String failure;
+    private final FeasibilityReport feasibilityReport;
+    private final int daysUsed;
+    private final int roomsUsed;
+    private final double averageStudentSpreadDays;
+    private final long elapsedMillis;
+
+    private WhatIfResult(Constraints constraints,
+                         Calendar calendar,
+                         String failure,
+                         FeasibilityReport feasibilityReport,
+                         int daysUsed,
+                         int roomsUsed,
+                         double averageStudentSpreadDays,
+                         long elapsedMillis) {
+        this.constraints = constraints;
+        this.calendar = calendar;
+        this.failure = failure;
+        this.feasibilityReport = feasibilityReport;
+        this.daysUsed = daysUsed;
+        this.roomsUsed = roomsUsed;
+        this.averageStudentSpreadDays = averageStudentSpreadDays;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    static WhatIfResult scheduled(Constraints constraints, Calendar calendar, long elapsedMillis) {
+        Set<LocalDate> days = new HashSet<>();
+        Set<Classroom> rooms = new HashSet<>();
+        Map<Student, LocalDate> first = new HashMap<>();
+        Map<Student, LocalDate> last = new HashMap<>();
+        for (ExamSession s : calendar.getExamSessions()) {
+            if (s.getStartDateTime() == null) continue;
+            LocalDate day = s.getStartDateTime().toLocalDate();
+            days.add(day);
+            for (ExamRoomAssignment a : s.getRoomAssignments()) {
+                if (a.getRoom() != null) rooms.add(a.getRoom());
+                for (Student st : a.getStudents()) {
+                    first.merge(st, day, (x, y) -> x.isBefore(y) ? x : y);
+                    last.merge(st, day, (x, y) -> x.isAfter(y) ? x : y);
+                }
+            }
+        }
+
+        long spread = 0;
+        for (Map.Entry<Student, LocalDate> e : first.entrySet()) {
+            spread += last.get(e.getKey()).toEpochDay() - e.getValue().toEpochDay();
+        }
+        double average = first.isEmpty() ? 0.0 : (double) spread / first.size();
+        return new WhatIfResult(constraints, calendar, null, null, days.size(), rooms.size(), average, elapsedMillis);
+    }
+
+    static WhatIfResult failed(Constraints constraints, String failure, FeasibilityReport report, long elapsedMillis) {
+        return new WhatIfResult(constraints, null, failure, report, 0, 0, Double.NaN, elapsedMillis);
+    }
+
+    public Constraints getConstraints() {
+        return constraints;
+    }
+
+    /**
+     * True when a schedule was found for the variant.
+     */
+    public boolean isFeasible() {
+        return calendar != null;
+    }
+
+    /**
+     * The schedule, or null when none was found.
+     */
+    public Calendar getCalendar() {
+        return calendar;
+    }
+
+    /**
+     * Why no schedule was found, or null.
+     */
+    public String getFailure() {
+        return failure;
+    }
+
+    /**
+     * Pre-flight analysis when it proved the variant infeasible, otherwise null.
+     */
+    public FeasibilityReport getFeasibilityReport() {
+        return feasibilityReport;
+    }
+
+    public int getDaysUsed() {
+        return daysUsed;
+    }
+
+    public int getRoomsUsed() {
+        return roomsUsed;
+    }
+
+    /**
+     * Days between a student's first and last exam, averaged over students with at least one exam;
+     * NaN when no schedule was found.
+     */
+    public double getAverageStudentSpreadDays() {
+        return averageStudentSpreadDays;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "WhatIfResult{" +
+                "feasible=" + isFeasible() +
+                ", daysUsed=" + daysUsed +
+                ", roomsUsed=" + roomsUsed +
+                ", averageStudentSpreadDays=" + averageStudentSpreadDays +
+                ", elapsedMillis=" + elapsedMillis +
+                ", failure=" + failure +
+                '}';
+    }
+}
@@ -0,0 +1,189 @@
+package org.example.se302;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConflictDetectionTest {
+
+    @Test
+    void sweepFindsTheSameConflictsAsTheNestedLoop() {
+        for (long seed = 0; seed < 20; seed++) {
+            Calendar calendar = TestFixtures.randomCalendar(seed, 200, 3 + (int) seed, 60 + 40 * (int) seed);
+            List<Conflict> found = new ConflictDetection().detectConflicts(calendar);
+            assertEquals(TestFixtures.nestedLoopConflicts(calendar), TestFixtures.keys(found), "seed " + seed);
+        }
+    }
+
+    @Test
+    void parallelModeMatchesSequentialModeAndOrder() {
+        for (long seed = 0; seed < 4; seed++) {
+            // Large enough to be split into several blocks even on a one-thread pool.
+            Calendar calendar = TestFixtures.randomCalendar(seed, 1500, 20, 2000);
+            List<Conflict> sequential = new ConflictDetection().detectConflicts(calendar);
+
+            ConflictDetection parallel = new ConflictDetection();
+            parallel.setParallel(true);
+            List<Conflict> found = parallel.detectConflicts(calendar);
+
+            assertTrue(!found.isEmpty(), "fixture has no conflicts");
+            assertEquals(sequential, found, "seed " + seed);
+            assertEquals(TestFixtures.nestedLoopConflicts(calendar), TestFixtures.keys(found), "seed " + seed);
+        }
+    }
+
+    @Test
+    void sessionsTouchingEndToStartDoNotConflict() {
+        Classroom room = new Classroom("R1", 10);
+        Student student = new Student("S1", "A");
+        ExamSession first = new ExamSession(new Course("A", "a", 2), TestFixtures.FIRST_DAY.atTime(9, 0), 60);
+        first.addRoomAssignment(new ExamRoomAssignment(room, List.of(student)));
+        ExamSession second = new ExamSession(new Course("B", "b", 2), TestFixtures.FIRST_DAY.atTime(10, 0), 60);
+        second.addRoomAssignment(new ExamRoomAssignment(room, List.of(student)));
+
+        Calendar calendar = new Calendar();
+        calendar.addExamSession(first);
+        calendar.addExamSession(second);
+        assertTrue(new ConflictDetection().detectConflicts(calendar).isEmpty());
+
+        second.setStartDateTime(TestFixtures.FIRST_DAY.atTime(9, 59));
+        assertEquals(List.of("ROOM_OVERLAP|A|B|R1", "STUDENT_COLLISION|A|B|S1"),
+                TestFixtures.keys(new ConflictDetection().detectConflicts(calendar)));
+    }
+
+    @Test
+    void aggregatedCollisionsHoldTheSameStudentsAsPerStudentConflicts() {
+        for (long seed = 0; seed < 5; seed++) {
+            Calendar calendar = TestFixtures.randomCalendar(seed, 200, 3 + (int) seed, 60 + 40 * (int) seed);
+            ConflictDetection detection = new ConflictDetection();
+            detection.setAggregateStudentCollisions(true);
+            List<Conflict> found = detection.detectConflicts(calendar);
+
+            List<String> expanded = new ArrayList<>();
+            for (Conflict c : found) {
+                if (!(c instanceof AggregatedConflict)) {
+                    expanded.add(TestFixtures.key(c));
+                    continue;
+                }
+                AggregatedConflict a = (AggregatedConflict) c;
+                assertEquals(ConflictType.STUDENT_COLLISION, a.getType());
+                assertEquals(a.getStudents().size(), a.getStudentCount());
+                for (Student st : a.getStudents()) {
+                    expanded.add(ConflictType.STUDENT_COLLISION + "|" + a.getSessions().get(0).getCourseCode() + "|"
+                            + a.getSessions().get(1).getCourseCode() + "|" + st.getStudentId());
+                }
+            }
+            Collections.sort(expanded);
+            assertEquals(TestFixtures.nestedLoopConflicts(calendar), expanded, "seed " + seed);
+
+            // A second run numbers the students in its own roster; the conflicts are still equal.
+            List<Conflict> again = detection.detectConflicts(calendar);
+            assertEquals(found, again);
+            assertEquals(found.hashCode(), again.hashCode());
+            Set<Conflict> lookup = new HashSet<>(again);
+            for (Conflict c : found) assertTrue(lookup.contains(c));
+        }
+    }
+
+    @Test
+    void gapOfExactlyTheMinimumIsAllowed() {
+        Student student = new Student("S1", "A");
+        Classroom r1 = new Classroom("R1", 10);
+        Classroom r2 = new Classroom("R2", 10);
+        Constraints constraints = softRules(60, 5, 0);
+
+        ExamSession a = session("A", r1, TestFixtures.FIRST_DAY.atTime(9, 0), 60, student);
+        ExamSession b = session("B", r2, TestFixtures.FIRST_DAY.atTime(11, 0), 60, student);
+        assertEquals(List.of(), types(detect(constraints, a, b)));
+
+        b.setStartDateTime(TestFixtures.FIRST_DAY.atTime(10, 59));
+        List<Conflict> found = detect(constraints, a, b);
+        assertEquals(List.of(ConflictType.STUDENT_GAP), types(found));
+        assertEquals(List.of(a, b), found.get(0).getSessions());
+        assertEquals(List.of(student), ((AggregatedConflict) found.get(0)).getStudents());
+    }
+
+    @Test
+    void dailyLimitCountsExamsByTheDayTheyStart() {
+        Student student = new Student("S1", "A");
+        Classroom room = new Classroom("R1", 10);
+        Constraints constraints = softRules(0, 2, 0);
+
+        ExamSession evening = session("A", room, TestFixtures.FIRST_DAY.atTime(18, 0), 60, student);
+        ExamSession night = session("B", room, TestFixtures.FIRST_DAY.atTime(21, 0), 60, student);
+        ExamSession pastMidnight = session("C", room, TestFixtures.FIRST_DAY.plusDays(1).atTime(0, 0), 60, student);
+        assertEquals(List.of(), types(detect(constraints, evening, night, pastMidnight)));
+
+        // Starts before midnight and ends after it, so it counts for the first day.
+        ExamSession late = session("D", room, TestFixtures.FIRST_DAY.atTime(22, 30), 60, student);
+        pastMidnight.setStartDateTime(TestFixtures.FIRST_DAY.plusDays(1).atTime(1, 0));
+        List<Conflict> found = detect(constraints, evening, night, late, pastMidnight);
+        assertEquals(List.of(ConflictType.STUDENT_DAILY_LIMIT), types(found));
+        assertEquals(List.of(evening, night, late), found.get(0).getSessions());
+        assertTrue(found.get(0).getDescription().contains(TestFixtures.FIRST_DAY.toString()));
+    }
+
+    @Test
+    void turnoverOnlyAppliesToSharedRooms() {
+        Classroom r1 = new Classroom("R1", 10);
+        Classroom r2 = new Classroom("R2", 10);
+        Constraints constraints = softRules(0, 5, 30);
+
+        ExamSession a = session("A", r1, TestFixtures.FIRST_DAY.atTime(9, 0), 60, new Student("S1", "A"));
+        ExamSession b = session("B", r1, TestFixtures.FIRST_DAY.atTime(10, 10), 60, new Student("S2", "B"));
+        ExamSession c = session("C", r2, TestFixtures.FIRST_DAY.atTime(10, 0), 60, new Student("S3", "C"));
+
+        List<Conflict> found = detect(constraints, a, b, c);
+        assertEquals(List.of("ROOM_TURNOVER|A|B|R1 (gap=10, turnover=30)"), TestFixtures.keys(found));
+
+        b.setStartDateTime(TestFixtures.FIRST_DAY.atTime(10, 30));
+        assertEquals(List.of(), types(detect(constraints, a, b, c)));
+    }
+
+    @Test
+    void overlappingSessionsAreOnlyCollisions() {
+        Student student = new Student("S1", "A");
+        Classroom room = new Classroom("R1", 10);
+        Constraints constraints = softRules(60, 5, 30);
+
+        ExamSession a = session("A", room, TestFixtures.FIRST_DAY.atTime(9, 0), 60, student);
+        ExamSession b = session("B", room, TestFixtures.FIRST_DAY.atTime(9, 30), 60, student);
+        assertEquals(List.of("ROOM_OVERLAP|A|B|R1", "STUDENT_COLLISION|A|B|S1"),
+                TestFixtures.keys(detect(constraints, a, b)));
+    }
+
+    private static Constraints softRules(int minGap, int maxPerDay, int turnover) {
+        Constraints constraints = TestFixtures.constraints(5);
+        constraints.setMinMinutesBetweenExams(minGap);
+        constraints.setMaxExamsPerDay(maxPerDay);
+        constraints.setRoomTurnoverMinutes(turnover);
+        return constraints;
+    }
+
+    private static ExamSession session(String code, Classroom room, LocalDateTime start, int minutes,
+                                       Student... students) {
+        ExamSession s = new ExamSession(new Course(code, code, 2), start, minutes);
+        s.addRoomAssignment(new ExamRoomAssignment(room, List.of(students)));
+        return s;
+    }
+
+    private static List<Conflict> detect(Constraints constraints, ExamSession... sessions) {
+        Calendar calendar = new Calendar();
+        for (ExamSession s : sessions) calendar.addExamSession(s);
+        return new ConflictDetection().detectConflicts(calendar, constraints);
+    }
+
+    private static List<ConflictType> types(List<Conflict> conflicts) {
+        List<ConflictType> out = new ArrayList<>();
+        for (Conflict c : conflicts) out.add(c.getType());
+        return out;
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.se302;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+class ConstraintsTest {
+
+    @Test
+    void copyDoesNotShareTimeRanges() {
+        Constraints original = TestFixtures.constraints(5);
+        original.setAllowedTimeRanges(List.of(new Constraints.TimeRange(LocalTime.of(9, 0), LocalTime.of(12, 0))));
+        Constraints copy = new Constraints(original);
+        assertEquals(original, copy);
+
+        original.getAllowedTimeRanges().get(0).setEnd(LocalTime.of(10, 0));
+        assertNotSame(original.getAllowedTimeRanges().get(0), copy.getAllowedTimeRanges().get(0));
+        assertEquals(LocalTime.of(12, 0), copy.getAllowedTimeRanges().get(0).getEnd());
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.se302;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FeasibilityAnalyzerTest {
+
+    @Test
+    void acceptsProblemsTheEngineCanSchedule() {
+        for (long seed = 0; seed < 5; seed++) {
+            TestFixtures.Problem p = TestFixtures.problem(seed, 40, 300, 6);
+            Constraints constraints = TestFixtures.constraints(10);
+
+            assertTrue(new FeasibilityAnalyzer().analyze(p.courses, p.classrooms, constraints).isFeasible());
+            new SchedulingEngine().generateSchedule(p.courses, p.classrooms, constraints);
+        }
+    }
+
+    @Test
+    void acceptsTightButFeasibleInputs() {
+        // One exam a day for three days, and one course that needs every seat.
+        Student student = new Student("S1", "A");
+        List<Course> courses = courses(3, student);
+        Course large = new Course("L", "large", 2);
+        for (int i = 0; i < 30; i++) large.addStudent(new Student("L" + i, "x"));
+        courses.add(large);
+        List<Classroom> rooms = List.of(new Classroom("R1", 10), new Classroom("R2", 20));
+        Constraints constraints = TestFixtures.constraints(3);
+        constraints.setMaxExamsPerDay(1);
+
+        FeasibilityReport report = new FeasibilityAnalyzer().analyze(courses, rooms, constraints);
+        assertTrue(report.isFeasible(), report.toString());
+        Calendar calendar = new SchedulingEngine().generateSchedule(courses, rooms, constraints);
+        assertEquals(4, calendar.getExamSessions().size());
+    }
+
+    @Test
+    void rejectsACourseLargerThanAllRooms() {
+        Course course = new Course("C", "c", 2);
+        for (int i = 0; i < 31; i++) course.addStudent(new Student("S" + i, "x"));
+        List<Classroom> rooms = List.of(new Classroom("R1", 10), new Classroom("R2", 20));
+
+        assertRejected(List.of(course), rooms, TestFixtures.constraints(5), InfeasibilityType.ROOM_CAPACITY);
+    }
+
+    @Test
+    void rejectsTooManyExamsForOneStudent() {
+        Constraints constraints = TestFixtures.constraints(3);
+        constraints.setMaxExamsPerDay(1);
+
+        assertRejected(courses(4, new Student("S1", "A")), List.of(new Classroom("R1", 10)), constraints,
+                InfeasibilityType.STUDENT_LOAD);
+    }
+
+    @Test
+    void rejectsPeriodsWithoutAllowedDays() {
+        Constraints constraints = TestFixtures.constraints(5);
+        constraints.setAllowedDays(List.of(DayOfWeek.SATURDAY));
+
+        assertRejected(courses(1, new Student("S1", "A")), List.of(new Classroom("R1", 10)), constraints,
+                InfeasibilityType.NO_ALLOWED_DAYS);
+    }
+
+    @Test
+    void rejectsTimeRangesShorterThanTheExam() {
+        Constraints constraints = TestFixtures.constraints(5);
+        constraints.setAllowedTimeRanges(List.of(new Constraints.TimeRange(LocalTime.of(9, 0), LocalTime.of(10, 0))));
+
+        assertRejected(courses(1, new Student("S1", "A")), List.of(new Classroom("R1", 10)), constraints,
+                InfeasibilityType.NO_CANDIDATE_SLOTS);
+    }
+
+    private static void assertRejected(List<Course> courses,
+                                       List<Classroom> rooms,
+                                       Constraints constraints,
+                                       InfeasibilityType expected) {
+        FeasibilityReport report = new FeasibilityAnalyzer().analyze(courses, rooms, constraints);
+        assertFalse(report.isFeasible());
+        assertTrue(report.getIssues().stream().anyMatch(i -> i.getType() == expected), report.toString());
+
+        InfeasibleScheduleException ex = assertThrows(InfeasibleScheduleException.class,
+                () -> new SchedulingEngine().generateSchedule(courses, rooms, constraints));
+        assertTrue(ex.getReport().getIssues().stream().anyMatch(i -> i.getType() == expected));
+    }
+
+    private static List<Course> courses(int count, Student student) {
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Course c = new Course("C" + i, "Course " + i, 2);
+            c.addStudent(student);
+            courses.add(c);
+        }
+        return courses;
+    }
+}
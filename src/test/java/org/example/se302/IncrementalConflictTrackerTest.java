@@ -0,0 +1,71 @@
+package org.example.se302;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IncrementalConflictTrackerTest {
+
+    @Test
+    void followsAddsRemovesAndRefreshesLikeTheNestedLoop() {
+        for (long seed = 0; seed < 6; seed++) {
+            List<ExamSession> all = new ArrayList<>(
+                    TestFixtures.randomCalendar(seed, 120, 3 + (int) seed, 80 + 30 * (int) seed).getExamSessions());
+            Calendar calendar = new Calendar();
+            for (ExamSession s : all.subList(0, all.size() / 2)) calendar.addExamSession(s);
+
+            IncrementalConflictTracker tracker = new IncrementalConflictTracker(calendar);
+            assertEquals(TestFixtures.nestedLoopConflicts(calendar), TestFixtures.keys(tracker.getConflicts()));
+
+            Random rnd = new Random(seed);
+            for (int step = 0; step < 80; step++) {
+                List<ExamSession> current = calendar.getExamSessions();
+                if (current.isEmpty() || rnd.nextBoolean()) {
+                    ExamSession s = all.get(rnd.nextInt(all.size()));
+                    if (!containsInstance(current, s)) calendar.addExamSession(s);
+                } else {
+                    ExamSession s = current.get(rnd.nextInt(current.size()));
+                    if (rnd.nextInt(4) == 0) {
+                        s.setStartDateTime(s.getStartDateTime().plusMinutes(30));
+                        tracker.refresh(s);
+                    } else {
+                        calendar.removeExamSession(s);
+                    }
+                }
+                assertEquals(TestFixtures.nestedLoopConflicts(calendar), TestFixtures.keys(tracker.getConflicts()),
+                        "seed " + seed + ", step " + step);
+            }
+        }
+    }
+
+    @Test
+    void detachedTrackerKeepsItsConflicts() {
+        Classroom room = new Classroom("R1", 10);
+        ExamSession a = new ExamSession(new Course("A", "a", 2), TestFixtures.FIRST_DAY.atTime(9, 0), 90);
+        a.addRoomAssignment(new ExamRoomAssignment(room, List.of(new Student("S1", "x"))));
+        ExamSession b = new ExamSession(new Course("B", "b", 2), TestFixtures.FIRST_DAY.atTime(10, 0), 90);
+        b.addRoomAssignment(new ExamRoomAssignment(room, List.of(new Student("S2", "y"))));
+
+        Calendar calendar = new Calendar();
+        calendar.addExamSession(a);
+        IncrementalConflictTracker tracker = new IncrementalConflictTracker(calendar);
+        calendar.addExamSession(b);
+        assertEquals(List.of("ROOM_OVERLAP|A|B|R1"), TestFixtures.keys(tracker.getConflicts()));
+
+        tracker.detach();
+        calendar.removeExamSession(b);
+        assertEquals(1, tracker.getConflictCount());
+        assertEquals(1, tracker.getConflicts(a).size());
+    }
+
+    private static boolean containsInstance(List<ExamSession> sessions, ExamSession s) {
+        for (ExamSession o : sessions) {
+            if (o == s) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,155 @@
+package org.example.se302;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IncrementalReschedulerTest {
+
+    @Test
+    void emptyChangeSetReturnsThePublishedSessions() {
+        TestFixtures.Problem p = TestFixtures.problem(11, 40, 300, 6);
+        Constraints constraints = TestFixtures.constraints(10);
+        Calendar published = new SchedulingEngine().generateSchedule(p.courses, p.classrooms, constraints);
+
+        Calendar repaired = new IncrementalRescheduler()
+                .reschedule(published, p.courses, p.classrooms, constraints, new ScheduleChangeSet());
+        assertEquals(published.getExamSessions().size(), repaired.getExamSessions().size());
+        for (int i = 0; i < published.getExamSessions().size(); i++) {
+            assertSame(published.getExamSessions().get(i), repaired.getExamSessions().get(i));
+        }
+    }
+
+    @Test
+    void enrollmentChangeOnlyMovesTheAffectedCourse() {
+        TestFixtures.Problem p = TestFixtures.problem(12, 40, 300, 6);
+        Constraints constraints = TestFixtures.constraints(10);
+        Calendar published = new SchedulingEngine().generateSchedule(p.courses, p.classrooms, constraints);
+
+        // A student of one exam joins a course whose exam overlaps it, so that course has to move.
+        ExamSession fixed = published.getExamSessions().get(0);
+        ExamSession target = null;
+        for (ExamSession s : published.getExamSessions()) {
+            if (s != fixed && overlaps(s, fixed)) target = s;
+        }
+        assertNotNull(target, "fixture has no overlapping sessions");
+        Student joining = fixed.getAllStudents().get(0);
+        Course course = target.getCourse();
+
+        ScheduleChangeSet changes = new ScheduleChangeSet();
+        changes.addEnrollment(joining, course);
+        changes.applyTo(p.courses, p.classrooms);
+        Calendar repaired = new IncrementalRescheduler()
+                .reschedule(published, p.courses, p.classrooms, constraints, changes);
+
+        assertUnchangedExcept(published, repaired, Set.of(course));
+        ExamSession moved = sessionOf(repaired, course);
+        assertTrue(moved.getAllStudents().contains(joining));
+        assertFalse(overlaps(moved, fixed));
+        SchedulingEngineTest.assertSchedulesEveryStudent(p.courses, repaired, "repaired");
+        assertTrue(new ConflictDetection().detectConflicts(repaired).isEmpty());
+    }
+
+    @Test
+    void removedClassroomOnlyMovesItsSessions() {
+        TestFixtures.Problem p = TestFixtures.problem(13, 40, 300, 6);
+        Constraints constraints = TestFixtures.constraints(10);
+        Calendar published = new SchedulingEngine().generateSchedule(p.courses, p.classrooms, constraints);
+
+        Classroom removed = published.getExamSessions().get(0).getRoomAssignments().get(0).getRoom();
+        Set<Course> affected = new HashSet<>();
+        for (ExamSession s : published.getExamSessions()) {
+            if (TestFixtures.rooms(s).contains(removed)) affected.add(s.getCourse());
+        }
+
+        ScheduleChangeSet changes = new ScheduleChangeSet();
+        changes.removeClassroom(removed);
+        changes.applyTo(p.courses, p.classrooms);
+        Calendar repaired = new IncrementalRescheduler()
+                .reschedule(published, p.courses, p.classrooms, constraints, changes);
+
+        assertUnchangedExcept(published, repaired, affected);
+        for (ExamSession s : repaired.getExamSessions()) {
+            assertFalse(TestFixtures.rooms(s).contains(removed), s.getCourseCode());
+        }
+        SchedulingEngineTest.assertSchedulesEveryStudent(p.courses, repaired, "repaired");
+        assertTrue(new ConflictDetection().detectConflicts(repaired).isEmpty());
+    }
+
+    @Test
+    void addedCourseIsPlacedAroundThePublishedSessions() {
+        TestFixtures.Problem p = TestFixtures.problem(14, 40, 300, 6);
+        Constraints constraints = TestFixtures.constraints(10);
+        Calendar published = new SchedulingEngine().generateSchedule(p.courses, p.classrooms, constraints);
+
+        Course added = new Course("NEW", "Added", 3);
+        for (Student s : new ArrayList<>(p.students).subList(0, 25)) added.addStudent(s);
+        ScheduleChangeSet changes = new ScheduleChangeSet();
+        changes.addCourse(added);
+        changes.applyTo(p.courses, p.classrooms);
+        Calendar repaired = new IncrementalRescheduler()
+                .reschedule(published, p.courses, p.classrooms, constraints, changes);
+
+        assertUnchangedExcept(published, repaired, Set.of(added));
+        assertEquals(published.getExamSessions().size() + 1, repaired.getExamSessions().size());
+        SchedulingEngineTest.assertSchedulesEveryStudent(p.courses, repaired, "repaired");
+        assertTrue(new ConflictDetection().detectConflicts(repaired).isEmpty());
+    }
+
+    @Test
+    void clashingPublishedSessionIsRepairedInsteadOfTrusted() {
+        TestFixtures.Problem p = TestFixtures.problem(15, 40, 300, 6);
+        Constraints constraints = TestFixtures.constraints(10);
+        Calendar generated = new SchedulingEngine().generateSchedule(p.courses, p.classrooms, constraints);
+
+        // Edited by hand: the last session is moved onto the first one's time and rooms.
+        ExamSession first = generated.getExamSessions().get(0);
+        ExamSession last = generated.getExamSessions().get(generated.getExamSessions().size() - 1);
+        ExamSession edited = new ExamSession(last.getCourse(), first.getStartDateTime(), last.getDurationMinutes());
+        edited.addRoomAssignment(new ExamRoomAssignment(first.getRoomAssignments().get(0).getRoom(),
+                last.getAllStudents()));
+        Calendar published = new Calendar();
+        for (ExamSession s : generated.getExamSessions()) published.addExamSession(s == last ? edited : s);
+        assertFalse(new ConflictDetection().detectConflicts(published).isEmpty());
+
+        Calendar repaired = new IncrementalRescheduler()
+                .reschedule(published, p.courses, p.classrooms, constraints, new ScheduleChangeSet());
+
+        assertUnchangedExcept(published, repaired, Set.of(last.getCourse()));
+        SchedulingEngineTest.assertSchedulesEveryStudent(p.courses, repaired, "repaired");
+        assertTrue(new ConflictDetection().detectConflicts(repaired).isEmpty());
+    }
+
+    /**
+     * Every published session of a course outside {@code changed} comes back as the same object.
+     */
+    private static void assertUnchangedExcept(Calendar published, Calendar repaired, Set<Course> changed) {
+        for (ExamSession s : published.getExamSessions()) {
+            if (changed.contains(s.getCourse())) continue;
+            assertSame(s, sessionOf(repaired, s.getCourse()), s.getCourseCode());
+        }
+    }
+
+    private static ExamSession sessionOf(Calendar calendar, Course course) {
+        List<ExamSession> found = new ArrayList<>();
+        for (ExamSession s : calendar.getExamSessions()) {
+            if (s.getCourse() == course) found.add(s);
+        }
+        assertEquals(1, found.size(), course.getCourseCode());
+        return found.get(0);
+    }
+
+    private static boolean overlaps(ExamSession a, ExamSession b) {
+        return a.getStartDateTime().isBefore(b.getStartDateTime().plusMinutes(b.getDurationMinutes()))
+                && b.getStartDateTime().isBefore(a.getStartDateTime().plusMinutes(a.getDurationMinutes()));
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.se302;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScheduleJobTest {
+
+    @Test
+    void cancellingOneFutureLeavesJobsSharingTheTokenRunning() throws Exception {
+        TestFixtures.Problem p = TestFixtures.problem(21, 40, 300, 6);
+        Constraints constraints = TestFixtures.constraints(10);
+        SchedulingOptions options = new SchedulingOptions();
+        options.setImprovementTimeBudgetMillis(300L);
+        options.setImprovementMaxIterations(Long.MAX_VALUE);
+
+        CancellationToken shared = new CancellationToken();
+        ScheduleJob first = new ScheduleJob(new SchedulingEngine(options));
+        first.setCancellationToken(shared);
+        ScheduleJob second = new ScheduleJob(new SchedulingEngine(options));
+        second.setCancellationToken(shared);
+
+        CompletableFuture<Calendar> cancelled = first.start(p.courses, p.classrooms, constraints);
+        CompletableFuture<Calendar> running = second.start(p.courses, p.classrooms, constraints);
+        cancelled.cancel(true);
+
+        assertEquals(40, running.get().getExamSessions().size());
+        assertTrue(cancelled.isCancelled());
+        assertFalse(shared.isCancelled());
+    }
+
+    @Test
+    void rejectedJobFailsItsFuture() {
+        TestFixtures.Problem p = TestFixtures.problem(22, 10, 100, 3);
+        ScheduleJob job = new ScheduleJob();
+        job.setProgressListener(progress -> { });
+        job.setExecutor(command -> {
+            throw new RejectedExecutionException("shut down");
+        });
+
+        CompletableFuture<Calendar> future = job.start(p.courses, p.classrooms, TestFixtures.constraints(5));
+        ExecutionException ex = assertThrows(ExecutionException.class, future::get);
+        assertTrue(ex.getCause() instanceof RejectedExecutionException);
+    }
+}
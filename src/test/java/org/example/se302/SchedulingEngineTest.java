@@ -0,0 +1,241 @@
+package org.example.se302;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SchedulingEngineTest {
+
+    @Test
+    void schedulesSmallProblemsWithoutConflicts() {
+        for (PlacementStrategy strategy : PlacementStrategy.values()) {
+            for (long seed = 0; seed < 5; seed++) {
+                TestFixtures.Problem p = TestFixtures.problem(seed, 40, 300, 6);
+                Constraints constraints = TestFixtures.constraints(10);
+                SchedulingOptions options = new SchedulingOptions();
+                options.setPlacementStrategy(strategy);
+
+                Calendar calendar = new SchedulingEngine(options).generateSchedule(p.courses, p.classrooms, constraints);
+                assertSchedulesEveryStudent(p.courses, calendar, strategy + " seed " + seed);
+                assertTrue(new ConflictDetection().detectConflicts(calendar).isEmpty(), strategy + " seed " + seed);
+            }
+        }
+    }
+
+    @Test
+    void sameSeedGivesTheSameSchedule() {
+        TestFixtures.Problem p = TestFixtures.problem(7, 40, 300, 6);
+        Constraints constraints = TestFixtures.constraints(10);
+        constraints.setMinMinutesBetweenExams(60);
+
+        SchedulingOptions options = new SchedulingOptions();
+        options.setCourseOrdering(CourseOrdering.RANDOM);
+        options.setRandomSeed(42L);
+        // A generous time budget, so the iteration limit is what ends the improvement phase.
+        options.setImprovementTimeBudgetMillis(60_000L);
+        options.setImprovementMaxIterations(20_000L);
+
+        String first = describe(new SchedulingEngine(options).generateSchedule(p.courses, p.classrooms, constraints));
+        String second = describe(new SchedulingEngine(options).generateSchedule(p.courses, p.classrooms, constraints));
+        assertEquals(first, second);
+    }
+
+    @Test
+    void improvementKeepsTheScheduleConflictFree() {
+        TestFixtures.Problem p = TestFixtures.problem(3, 40, 300, 6);
+        Constraints constraints = TestFixtures.constraints(10);
+        constraints.setMinMinutesBetweenExams(60);
+
+        SchedulingOptions options = new SchedulingOptions();
+        options.setImprovementTimeBudgetMillis(60_000L);
+        options.setImprovementMaxIterations(20_000L);
+
+        Calendar calendar = new SchedulingEngine(options).generateSchedule(p.courses, p.classrooms, constraints);
+        assertSchedulesEveryStudent(p.courses, calendar, "improved");
+        assertTrue(new ConflictDetection().detectConflicts(calendar).isEmpty());
+    }
+
+    @Test
+    void pinnedSessionsStayWhereTheyAre() {
+        TestFixtures.Problem p = TestFixtures.problem(5, 40, 300, 6);
+        Constraints constraints = TestFixtures.constraints(10);
+        Calendar base = new SchedulingEngine().generateSchedule(p.courses, p.classrooms, constraints);
+
+        // Every third session, a week later; they keep their relative times, so they do not collide.
+        Calendar pinned = new Calendar();
+        List<ExamSession> sessions = base.getExamSessions();
+        for (int i = 0; i < sessions.size(); i += 3) {
+            ExamSession s = sessions.get(i);
+            ExamSession copy = new ExamSession(s.getCourse(), s.getStartDateTime().plusDays(7), s.getDurationMinutes());
+            for (ExamRoomAssignment ra : s.getRoomAssignments()) {
+                copy.addRoomAssignment(new ExamRoomAssignment(ra.getRoom(), ra.getStudents()));
+            }
+            pinned.addExamSession(copy);
+        }
+
+        Calendar calendar = new SchedulingEngine().generateSchedule(p.courses, p.classrooms, constraints, pinned);
+        assertSchedulesEveryStudent(p.courses, calendar, "pinned");
+        assertTrue(new ConflictDetection().detectConflicts(calendar).isEmpty());
+        for (ExamSession pin : pinned.getExamSessions()) {
+            assertTrue(calendar.getExamSessions().stream().anyMatch(s -> s == pin), pin.getCourseCode());
+        }
+    }
+
+    @Test
+    void improvementWorksAroundPinnedSessions() {
+        TestFixtures.Problem p = TestFixtures.problem(6, 40, 300, 6);
+        Constraints constraints = TestFixtures.constraints(10);
+        Calendar base = new SchedulingEngine().generateSchedule(p.courses, p.classrooms, constraints);
+
+        Calendar pinned = new Calendar();
+        for (int i = 0; i < base.getExamSessions().size(); i += 4) pinned.addExamSession(base.getExamSessions().get(i));
+
+        SchedulingOptions options = new SchedulingOptions();
+        options.setImprovementTimeBudgetMillis(60_000L);
+        options.setImprovementMaxIterations(20_000L);
+        Calendar calendar = new SchedulingEngine(options).generateSchedule(p.courses, p.classrooms, constraints, pinned);
+
+        assertSchedulesEveryStudent(p.courses, calendar, "improved with pins");
+        assertTrue(new ConflictDetection().detectConflicts(calendar).isEmpty());
+        for (ExamSession pin : pinned.getExamSessions()) {
+            assertTrue(calendar.getExamSessions().stream().anyMatch(s -> s == pin), pin.getCourseCode());
+        }
+    }
+
+    @Test
+    void rejectsPinnedSessionsThatCollide() {
+        Student student = new Student("S1", "A");
+        Course a = new Course("A", "a", 2);
+        a.addStudent(student);
+        Course b = new Course("B", "b", 2);
+        b.addStudent(student);
+        Classroom r1 = new Classroom("R1", 10);
+        Classroom r2 = new Classroom("R2", 10);
+
+        Calendar pinned = new Calendar();
+        ExamSession first = new ExamSession(a, TestFixtures.FIRST_DAY.atTime(9, 0), 90);
+        first.addRoomAssignment(new ExamRoomAssignment(r1, List.of(student)));
+        ExamSession second = new ExamSession(b, TestFixtures.FIRST_DAY.atTime(10, 0), 90);
+        second.addRoomAssignment(new ExamRoomAssignment(r2, List.of(student)));
+        pinned.addExamSession(first);
+        pinned.addExamSession(second);
+
+        assertThrows(IllegalArgumentException.class, () -> new SchedulingEngine()
+                .generateSchedule(List.of(a, b), List.of(r1, r2), TestFixtures.constraints(3), pinned));
+
+        second.setStartDateTime(TestFixtures.FIRST_DAY.atTime(10, 30));
+        Calendar calendar = new SchedulingEngine()
+                .generateSchedule(List.of(a, b), List.of(r1, r2), TestFixtures.constraints(3), pinned);
+        assertEquals(2, calendar.getExamSessions().size());
+    }
+
+    @Test
+    void feasibilityCheckCoversTheDaysWidenedForPinnedSessions() {
+        // Mondays only and one exam a day: 20 exams need 20 Mondays, more than the default search window has,
+        // but a pinned session half a year out widens the period enough.
+        Student student = new Student("S1", "A");
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Course c = new Course("C" + i, "c" + i, 2);
+            c.addStudent(student);
+            courses.add(c);
+        }
+        Course late = new Course("L", "late", 2);
+        Student other = new Student("S2", "B");
+        late.addStudent(other);
+        courses.add(late);
+        Classroom room = new Classroom("R1", 10);
+
+        Constraints constraints = new Constraints();
+        constraints.setExamWeekStartDate(TestFixtures.FIRST_DAY);
+        constraints.setAllowedDays(List.of(DayOfWeek.MONDAY));
+        constraints.setMaxExamsPerDay(1);
+
+        Calendar pinned = new Calendar();
+        ExamSession pin = new ExamSession(late, TestFixtures.FIRST_DAY.plusWeeks(26).atTime(9, 0), 90);
+        pin.addRoomAssignment(new ExamRoomAssignment(room, List.of(other)));
+        pinned.addExamSession(pin);
+
+        Calendar calendar = new SchedulingEngine().generateSchedule(courses, List.of(room), constraints, pinned);
+        assertSchedulesEveryStudent(courses, calendar, "widened");
+        assertTrue(new ConflictDetection().detectConflicts(calendar).isEmpty());
+    }
+
+    @Test
+    void backtrackingFreesRoomsBesideAnUnrelatedPinnedSession() {
+        // Rooms are the bottleneck, and a day-long pinned exam holds the smallest room.
+        Random rnd = new Random(262);
+        List<Classroom> rooms = new ArrayList<>();
+        int roomCount = 3 + rnd.nextInt(4);
+        for (int i = 0; i < roomCount; i++) rooms.add(new Classroom("R" + i, 10 + 10 * rnd.nextInt(6)));
+        List<Student> pool = new ArrayList<>();
+        for (int i = 0; i < 400; i++) pool.add(new Student("S" + i, "Student " + i));
+        List<Course> courses = new ArrayList<>();
+        int courseCount = 10 + rnd.nextInt(15);
+        for (int i = 0; i < courseCount; i++) {
+            Course c = new Course("C" + i, "Course " + i, 1 + rnd.nextInt(3));
+            int size = 5 + rnd.nextInt(45);
+            Collections.shuffle(pool, rnd);
+            for (Student st : pool.subList(0, size)) c.addStudent(st);
+            courses.add(c);
+        }
+        Constraints constraints = TestFixtures.constraints(1 + rnd.nextInt(2));
+        constraints.setMinMinutesBetweenExams(0);
+        constraints.setMaxExamsPerDay(5);
+
+        Classroom smallest = rooms.get(0);
+        for (Classroom r : rooms) {
+            if (r.getCapacity() < smallest.getCapacity()) smallest = r;
+        }
+        Course pinnedCourse = new Course("P", "Pinned", 1);
+        for (int i = 0; i < 5; i++) pinnedCourse.addStudent(new Student("P" + i, "Pinned " + i));
+        courses.add(pinnedCourse);
+        ExamSession pin = new ExamSession(pinnedCourse, TestFixtures.FIRST_DAY.atTime(9, 0), 600);
+        pin.addRoomAssignment(new ExamRoomAssignment(smallest, pinnedCourse.getEnrolledStudents()));
+        Calendar pinned = new Calendar();
+        pinned.addExamSession(pin);
+
+        SchedulingOptions options = new SchedulingOptions();
+        options.setBacktrackingNodeBudget(5000);
+        Calendar calendar = new SchedulingEngine(options).generateSchedule(courses, rooms, constraints, pinned);
+        assertSchedulesEveryStudent(courses, calendar, "backtracked");
+        assertTrue(new ConflictDetection().detectConflicts(calendar).isEmpty());
+    }
+
+    static void assertSchedulesEveryStudent(List<Course> courses, Calendar calendar, String message) {
+        Set<String> scheduled = new HashSet<>();
+        for (ExamSession s : calendar.getExamSessions()) {
+            assertTrue(scheduled.add(s.getCourseCode()), message + ": " + s.getCourseCode() + " scheduled twice");
+            assertEquals(new HashSet<>(s.getCourse().getEnrolledStudents()), new HashSet<>(s.getAllStudents()),
+                    message + ": " + s.getCourseCode());
+        }
+        for (Course c : courses) {
+            if (!c.getEnrolledStudents().isEmpty()) {
+                assertTrue(scheduled.contains(c.getCourseCode()), message + ": " + c.getCourseCode() + " missing");
+            }
+        }
+    }
+
+    static String describe(Calendar calendar) {
+        StringBuilder sb = new StringBuilder();
+        for (ExamSession s : calendar.getExamSessions()) {
+            sb.append(s.getCourseCode()).append(' ').append(s.getStartDateTime()).append(' ')
+                    .append(s.getDurationMinutes());
+            for (ExamRoomAssignment ra : s.getRoomAssignments()) {
+                sb.append(' ').append(ra.getRoom().getClassroomId()).append('=').append(ra.getStudentCount());
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+}
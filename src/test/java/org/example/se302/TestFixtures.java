@@ -0,0 +1,171 @@
+package org.example.se302;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Seeded inputs shared by the tests, and the pairwise reference the conflict detectors are checked against.
+ */
+final class TestFixtures {
+
+    static final LocalDate FIRST_DAY = LocalDate.of(2026, 1, 5);
+
+    private TestFixtures() {
+    }
+
+    /**
+     * Courses with random enrollments over a shared student pool and rooms of mixed size.
+     */
+    static final class Problem {
+        final List<Course> courses = new ArrayList<>();
+        final List<Classroom> classrooms = new ArrayList<>();
+        final List<Student> students = new ArrayList<>();
+    }
+
+    static Problem problem(long seed, int courseCount, int studentCount, int roomCount) {
+        Random rnd = new Random(seed);
+        Problem p = new Problem();
+        for (int i = 0; i < studentCount; i++) {
+            p.students.add(new Student("S" + i, "Student " + i));
+        }
+        for (int i = 0; i < roomCount; i++) {
+            p.classrooms.add(new Classroom("R" + i, 20 + 10 * rnd.nextInt(5)));
+        }
+        for (int i = 0; i < courseCount; i++) {
+            Course c = new Course("C" + i, "Course " + i, 2 + rnd.nextInt(5));
+            List<Student> pool = new ArrayList<>(p.students);
+            Collections.shuffle(pool, rnd);
+            for (Student s : pool.subList(0, 5 + rnd.nextInt(15))) {
+                c.addStudent(s);
+            }
+            p.courses.add(c);
+        }
+        return p;
+    }
+
+    static Constraints constraints(int days) {
+        Constraints c = new Constraints();
+        c.setExamWeekStartDate(FIRST_DAY);
+        c.setExamWeekEndDate(FIRST_DAY.plusDays(days - 1));
+        return c;
+    }
+
+    /**
+     * Sessions at random times on a coarse grid, so many overlap. Some have no room, an empty room or a
+     * non-positive duration, and rooms may be over capacity.
+     */
+    static Calendar randomCalendar(long seed, int sessions, int rooms, int students) {
+        Random rnd = new Random(seed);
+        List<Classroom> classrooms = new ArrayList<>();
+        for (int i = 0; i < rooms; i++) classrooms.add(new Classroom("R" + i, 5 + rnd.nextInt(40)));
+        List<Student> pool = new ArrayList<>();
+        for (int i = 0; i < students; i++) pool.add(new Student("S" + i, "Student " + i));
+
+        Calendar calendar = new Calendar();
+        LocalDateTime base = FIRST_DAY.atTime(9, 0);
+        for (int i = 0; i < sessions; i++) {
+            int duration = rnd.nextInt(20) == 0 ? -30 * rnd.nextInt(3) : 30 * (1 + rnd.nextInt(6));
+            ExamSession s = new ExamSession(new Course("C" + i, "Course " + i, 3),
+                    base.plusMinutes(30L * rnd.nextInt(Math.max(1, sessions / 4))), duration);
+            int assignments = 1 + rnd.nextInt(3);
+            for (int a = 0; a < assignments; a++) {
+                List<Student> seated = new ArrayList<>();
+                int m = rnd.nextInt(30);
+                for (int q = 0; q < m; q++) seated.add(pool.get(rnd.nextInt(students)));
+                Classroom room = rnd.nextInt(30) == 0 ? null : classrooms.get(rnd.nextInt(rooms));
+                s.addRoomAssignment(new ExamRoomAssignment(room, seated));
+            }
+            calendar.addExamSession(s);
+        }
+        return calendar;
+    }
+
+    /**
+     * Hard conflicts found by comparing every pair of sessions, as {@link #key(Conflict)} strings.
+     */
+    static List<String> nestedLoopConflicts(Calendar calendar) {
+        List<ExamSession> sessions = new ArrayList<>();
+        for (ExamSession s : calendar.getExamSessions()) {
+            if (s.getStartDateTime() != null) sessions.add(s);
+        }
+
+        List<String> out = new ArrayList<>();
+        for (ExamSession s : sessions) {
+            for (ExamRoomAssignment ra : s.getRoomAssignments()) {
+                if (ra.getRoom() == null) continue;
+                int assigned = new HashSet<>(ra.getStudents()).size();
+                if (assigned > ra.getRoom().getCapacity()) {
+                    out.add(ConflictType.ROOM_CAPACITY + "|" + s.getCourseCode() + "|" + ra.getRoom().getClassroomId()
+                            + "|" + assigned);
+                }
+            }
+        }
+        for (int i = 0; i < sessions.size(); i++) {
+            for (int j = i + 1; j < sessions.size(); j++) {
+                ExamSession a = sessions.get(i);
+                ExamSession b = sessions.get(j);
+                LocalDateTime aEnd = a.getStartDateTime().plusMinutes(a.getDurationMinutes());
+                LocalDateTime bEnd = b.getStartDateTime().plusMinutes(b.getDurationMinutes());
+                if (!a.getStartDateTime().isBefore(bEnd) || !b.getStartDateTime().isBefore(aEnd)) continue;
+
+                Set<Classroom> rooms = rooms(a);
+                rooms.retainAll(rooms(b));
+                for (Classroom r : rooms) {
+                    out.add(ConflictType.ROOM_OVERLAP + "|" + a.getCourseCode() + "|" + b.getCourseCode() + "|"
+                            + r.getClassroomId());
+                }
+                Set<Student> common = new HashSet<>(a.getAllStudents());
+                common.retainAll(b.getAllStudents());
+                for (Student st : common) {
+                    out.add(ConflictType.STUDENT_COLLISION + "|" + a.getCourseCode() + "|" + b.getCourseCode() + "|"
+                            + st.getStudentId());
+                }
+            }
+        }
+        Collections.sort(out);
+        return out;
+    }
+
+    /**
+     * Sorted keys of the conflicts, comparable with {@link #nestedLoopConflicts(Calendar)}.
+     */
+    static List<String> keys(Iterable<? extends Conflict> conflicts) {
+        List<String> out = new ArrayList<>();
+        for (Conflict c : conflicts) out.add(key(c));
+        Collections.sort(out);
+        return out;
+    }
+
+    /**
+     * Type, course codes and subject of a hard conflict; the subject is taken from the description.
+     */
+    static String key(Conflict c) {
+        StringBuilder sb = new StringBuilder().append(c.getType());
+        for (ExamSession s : c.getSessions()) sb.append('|').append(s.getCourseCode());
+        String d = c.getDescription();
+        switch (c.getType()) {
+            case ROOM_CAPACITY:
+                // "Room capacity exceeded: R1 (assigned=12, capacity=10)"
+                sb.append('|').append(d, d.indexOf(": ") + 2, d.indexOf(" (")).append('|')
+                        .append(d, d.indexOf("assigned=") + 9, d.indexOf(','));
+                break;
+            default:
+                sb.append('|').append(d.substring(d.indexOf(": ") + 2));
+        }
+        return sb.toString();
+    }
+
+    static Set<Classroom> rooms(ExamSession s) {
+        Set<Classroom> rooms = new HashSet<>();
+        for (ExamRoomAssignment ra : s.getRoomAssignments()) {
+            if (ra.getRoom() != null) rooms.add(ra.getRoom());
+        }
+        return rooms;
+    }
+}
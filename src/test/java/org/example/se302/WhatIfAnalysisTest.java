@@ -0,0 +1,29 @@
+package org.example.se302;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WhatIfAnalysisTest {
+
+    @Test
+    void tableShowsMissingDatesAsEmpty() {
+        Constraints undated = new Constraints();
+        undated.setExamWeekStartDate(null);
+        undated.setExamWeekEndDate(null);
+        Constraints openEnded = new Constraints();
+        openEnded.setExamWeekStartDate(TestFixtures.FIRST_DAY);
+        openEnded.setExamWeekEndDate(null);
+
+        String table = WhatIfAnalysis.formatTable(List.of(
+                WhatIfResult.failed(undated, "no rooms", null, 1),
+                WhatIfResult.failed(openEnded, "no rooms", null, 1)));
+
+        assertFalse(table.contains("null"), table);
+        assertTrue(table.contains(" unset "), table);
+        assertTrue(table.contains(" " + TestFixtures.FIRST_DAY + ".. "), table);
+    }
+}